@@ -1,6 +1,7 @@
 package com.example.backend.HotelOwner.domain;
 
 import com.example.backend.authlogin.domain.User;
+import com.example.backend.hotel_search.service.HotelPriceChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,6 +13,7 @@ import java.util.List;
 @Entity
 @Getter @Setter
 @Table(name="hotel")
+@EntityListeners(HotelPriceChangeListener.class) // 검색 요약/키워드 색인/캐시 갱신
 @Builder
 @AllArgsConstructor @NoArgsConstructor
 @ToString(exclude={"owner","images","hotelAmenities"})
@@ -1,5 +1,6 @@
 package com.example.backend.HotelOwner.domain;
 
+import com.example.backend.hotel_search.service.HotelPriceChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "room")
+@EntityListeners(HotelPriceChangeListener.class) // 검색용 최저가 요약 갱신
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -31,6 +31,14 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     @Query("SELECT r.hotel.id FROM Room r WHERE r.id = :roomId")
     Long findHotelIdByRoomId(@Param("roomId") Long roomId);
 
+    // [roomId, hotelId] 전체 (검색 재고 색인 적재용)
+    @Query("SELECT r.id, r.hotel.id FROM Room r")
+    List<Object[]> findAllRoomHotelIds();
+
+    // [roomId, roomCount] 전체 (재고 달력 생성용)
+    @Query("SELECT r.id, r.roomCount FROM Room r")
+    List<Object[]> findAllRoomCounts();
+
     // Admin 페이징 조회 메서드
     org.springframework.data.domain.Page<Room> findByHotel_IdAndNameContaining(Long hotelId, String name, org.springframework.data.domain.Pageable pageable);
     org.springframework.data.domain.Page<Room> findByHotel_Id(Long hotelId, org.springframework.data.domain.Pageable pageable);
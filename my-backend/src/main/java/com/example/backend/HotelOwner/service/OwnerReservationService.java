@@ -11,7 +11,7 @@ import com.example.backend.authlogin.domain.User;
 import com.example.backend.authlogin.repository.UserRepository;
 import com.example.backend.hotel_reservation.domain.Reservation;
 import com.example.backend.hotel_reservation.domain.Reservation.ResStatus;
-import com.example.backend.hotel_reservation.domain.Reservation.Status;
+import com.example.backend.hotel_reservation.service.ReservationStateMachine;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -33,6 +33,7 @@ public class OwnerReservationService {
     private final UserRepository userRepository;
     private final OwnerHotelRepository ownerHotelRepository;
     private final OwnerRoomRepository ownerRoomRepository;
+    private final ReservationStateMachine stateMachine;
 
     @Transactional(readOnly = true)
     public List<CalendarEvent> getReservationsForOwner(Long ownerId) {
@@ -110,12 +111,14 @@ public class OwnerReservationService {
         findMyReservation(ownerId, reservationId).setResStatus(ResStatus.RESERVED);
     }
     
+    // 조건부 상태 전이 + 재고 복구 (클래스 기본값이 readOnly 이므로 쓰기 트랜잭션 명시)
+    @Transactional
     public void cancelReservation(Long ownerId, Long reservationId) throws AccessDeniedException {
         Reservation reservation = findMyReservation(ownerId, reservationId);
         if (OwnerReservationDto.toLocalDate(reservation.getStartDate()).isBefore(LocalDate.now())) {
             throw new IllegalStateException("이미 지난 예약은 취소할 수 없습니다.");
         }
-        reservation.setStatus(Status.CANCELLED);
+        stateMachine.cancel(reservation);
     }
     
     private Hotel findMyHotel(Long ownerId) {
@@ -6,6 +6,7 @@ import com.example.backend.HotelOwner.dto.OwnerRoomDto.UpdateRequest;
 import com.example.backend.HotelOwner.repository.*;
 import com.example.backend.authlogin.domain.User;
 import com.example.backend.authlogin.repository.UserRepository;
+import com.example.backend.hotel_reservation.service.InventoryHorizonJob;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,9 +26,11 @@ public class OwnerRoomService {
     private final OwnerHotelRepository hotelRepository; 
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final InventoryHorizonJob inventoryHorizonJob;
 
     @Transactional
     public Long registerRoom(Long ownerId, OwnerRoomDto.RegisterRequest request, List<MultipartFile> images) {
+        requireRoomCount(request.getRoomCount());
         User owner = userRepository.findById(ownerId)
                 .orElseThrow(() -> new IllegalArgumentException("소유주 정보를 찾을 수 없습니다."));
         
@@ -54,6 +57,8 @@ public class OwnerRoomService {
                 .build();
         
         Room savedRoom = roomRepository.save(room);
+        // 재고 달력 미리 생성
+        inventoryHorizonJob.extendRoom(savedRoom.getId(), savedRoom.getRoomCount());
 
         if (images != null && !images.isEmpty()) {
             IntStream.range(0, images.size()).forEach(i -> {
@@ -112,7 +117,10 @@ public class OwnerRoomService {
         room.setRoomType(Room.RoomType.valueOf(request.getRoomType()));
         room.setPrice(request.getPrice());
         room.setRoomSize(request.getSize() != null ? request.getSize() + "m²" : null);
+        requireRoomCount(request.getRoomCount());
+        Integer beforeCount = room.getRoomCount();
         room.setRoomCount(request.getRoomCount());
+        inventoryHorizonJob.roomCountChanged(roomId, beforeCount, request.getRoomCount());
         room.setCapacityMin(request.getCapacityMin());
         room.setCapacityMax(request.getCapacityMax());
         room.setCheckInTime(request.getCheckInTime());
@@ -198,4 +206,11 @@ public class OwnerRoomService {
         
         roomRepository.delete(room);
     }
-}
\ No newline at end of file
+
+    // 재고 달력은 roomCount 로 만들어지므로 필수
+    private static void requireRoomCount(Integer roomCount) {
+        if (roomCount == null || roomCount < 0) {
+            throw new IllegalArgumentException("객실 수(roomCount)는 0 이상이어야 합니다.");
+        }
+    }
+}
@@ -44,15 +44,15 @@ public class AdminPaymentController {
     }
 
     /**
-     * 결제 환불 처리
+     * 결제 환불 요청 (PG 취소는 아웃박스에서 비동기 처리)
      * @param id 결제 ID
-     * @return 환불 처리 결과
+     * @return 202 접수
      */
     @PutMapping("/{id}/refund")
     public ResponseEntity<ApiResponse<Void>> refund(@PathVariable Long id) {
         try {
             paymentService.refund(id);
-            return ResponseEntity.ok(ApiResponse.ok(null));
+            return ResponseEntity.status(202).body(ApiResponse.ok(null));
         } catch (IllegalArgumentException e) {
             log.error("환불 처리 실패 - 잘못된 요청: {}", e.getMessage());
             return ResponseEntity.status(400).body(ApiResponse.fail(e.getMessage()));
@@ -3,6 +3,8 @@ package com.example.backend.admin.controller;
 import com.example.backend.payment.repository.PaymentRepository;
 import com.example.backend.hotel_reservation.repository.ReservationRepository;
 import com.example.backend.admin.repository.AdminUserRepository;
+import com.example.backend.admin.repository.HotelSettlementLedgerRepository;
+import com.example.backend.admin.service.AdminSettlementService;
 import com.example.backend.HotelOwner.repository.HotelRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +28,8 @@ public class AdminStatsController {
     private final HotelRepository hotelRepository;
     private final ReservationRepository reservationRepository;
     private final PaymentRepository paymentRepository;
+    private final HotelSettlementLedgerRepository ledgerRepository;
+    private final AdminSettlementService settlementService;
 
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String,Object>> dashboard() {
@@ -42,25 +46,21 @@ public class AdminStatsController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate to) {
         Map<String,Object> m = new HashMap<>();
-        var start = from.atStartOfDay();
-        var end = to.atTime(java.time.LocalTime.MAX);
 
-        // 총 매출
-    Long totalRevenue = paymentRepository.sumTotalPriceByCreatedAtBetween(start, end, com.example.backend.payment.domain.Payment.Status.COMPLETED);
-        m.put("totalRevenue", totalRevenue != null ? totalRevenue : 0L);
-
-        // 호텔별 매출/플랫폼 수수료/예약건수
-        var rows = paymentRepository.hotelRevenueBetween(start, end);
+        // 마감된 정산 원장 합계 (당일 등 미마감일은 포함되지 않음 → closedThrough 로 표시)
+        var rows = ledgerRepository.sumByHotelBetween(from, to);
         java.util.List<Map<String,Object>> hotelSettlements = new java.util.ArrayList<>();
+        long totalRevenue = 0L;
         long platformFee = 0L;
         for (Object[] r : rows) {
             Long hotelId = ((Number) r[0]).longValue();
             String hotelName = (String) r[1];
-            Long revenue = ((Number) r[2]).longValue();
-            Integer reservationCount = ((Number) r[3]).intValue();
-            long fee = Math.round(revenue * 0.10);
+            long revenue = ((Number) r[2]).longValue();
+            long fee = ((Number) r[3]).longValue();
+            long settlementAmount = ((Number) r[4]).longValue();
+            Integer reservationCount = ((Number) r[5]).intValue();
+            totalRevenue += revenue;
             platformFee += fee;
-            long settlementAmount = revenue - fee; // 90%
             Map<String,Object> item = new HashMap<>();
             item.put("hotelId", hotelId);
             item.put("hotelName", hotelName);
@@ -68,9 +68,13 @@ public class AdminStatsController {
             item.put("reservationCount", reservationCount);
             item.put("settlementAmount", settlementAmount);
             item.put("platformFee", fee);
+            item.put("refundAdjustment", ((Number) r[6]).longValue());
             hotelSettlements.add(item);
         }
+        m.put("totalRevenue", totalRevenue);
         m.put("platformFeeAmount", platformFee);
+        m.put("feeRate", settlementService.feeRate());
+        m.put("closedThrough", settlementService.closedThrough());
         m.put("hotelSettlements", hotelSettlements);
         return ResponseEntity.ok(m);
     }
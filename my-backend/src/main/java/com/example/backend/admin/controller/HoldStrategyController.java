@@ -0,0 +1,28 @@
+package com.example.backend.admin.controller;
+
+import com.example.backend.admin.dto.ApiResponse;
+import com.example.backend.hotel_reservation.service.DbInventoryEngine.HoldStrategy;
+import com.example.backend.hotel_reservation.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/inventory/hold-strategy")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class HoldStrategyController {
+    private final ReservationService reservationService;
+
+    // 현재 hold 재고 차감 방식 (인메모리 엔진이면 data=null)
+    @GetMapping
+    public ResponseEntity<ApiResponse<HoldStrategy>> get() {
+        return ResponseEntity.ok(ApiResponse.ok(reservationService.holdStrategy()));
+    }
+
+    // PESSIMISTIC | CONDITIONAL 전환 (재기동 시 reservation.hold.strategy 로 돌아감). 인메모리 엔진이면 409
+    @PutMapping
+    public ResponseEntity<ApiResponse<HoldStrategy>> change(@RequestParam HoldStrategy strategy) {
+        return ResponseEntity.ok(ApiResponse.ok(reservationService.switchHoldStrategy(strategy)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.admin.controller;
+
+import com.example.backend.admin.dto.ApiResponse;
+import com.example.backend.hotel_reservation.dto.InventoryReconcileReport;
+import com.example.backend.hotel_reservation.service.InventoryReconciler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/inventory/reconcile")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class InventoryReconcileController {
+    private final InventoryReconciler reconciler;
+
+    // 재고 대사 시작 (fix=true 면 어긋난 잔여 수량 보정). 이미 실행 중이거나 인메모리 엔진에서 fix 면 409
+    @PostMapping
+    public ResponseEntity<ApiResponse<InventoryReconcileReport>> start(
+            @RequestParam(defaultValue = "false") boolean fix,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(ApiResponse.ok(reconciler.start(fix, from, to)));
+    }
+
+    // 진행 현황 / 마지막 결과
+    @GetMapping
+    public ResponseEntity<ApiResponse<InventoryReconcileReport>> status() {
+        return ResponseEntity.ok(ApiResponse.ok(reconciler.status()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.admin.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 호텔 정산 원장 (하루 마감 시 호텔별 1행, 한 번 쓰면 고치지 않음)
+ * - CLOSE: 그날 생성된 결제 중 그날이 끝난 시점에 완료 상태였던 것 → 매출/수수료/정산액/예약 수
+ * - ADJUSTMENT: 이미 마감된 날의 결제가 그날 취소(환불)된 것 → 음수 금액으로 그날 원장에 반영
+ * 기간 정산 = 기간 내 행 합계
+ */
+@Entity
+@Table(name = "hotel_settlement_ledger",
+       uniqueConstraints = @UniqueConstraint(name = "uk_settlement_day_hotel_type",
+               columnNames = {"settlement_date", "hotel_id", "entry_type"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class HotelSettlementLedger {
+
+    public enum EntryType { CLOSE, ADJUSTMENT }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "settlement_date", nullable = false)
+    private LocalDate settlementDate;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private EntryType entryType;
+
+    @Column(name = "revenue", nullable = false)
+    private long revenue;
+
+    // 플랫폼 수수료 (마감 시점 수수료율 적용)
+    @Column(name = "fee", nullable = false)
+    private long fee;
+
+    // 호텔 정산액 = revenue - fee
+    @Column(name = "net", nullable = false)
+    private long net;
+
+    @Column(name = "reservation_count", nullable = false)
+    private int reservationCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.example.backend.admin.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 정산 마감 완료 표시 (하루 1행) — 원장 행이 없는 날(매출 0)도 마감됐음을 남김
+ */
+@Entity
+@Table(name = "settlement_day")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SettlementDay {
+
+    @Id
+    @Column(name = "settlement_date")
+    private LocalDate settlementDate;
+
+    // 이 날 기록한 원장 행 수
+    @Column(name = "entries", nullable = false)
+    private int entries;
+
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt;
+}
@@ -0,0 +1,30 @@
+package com.example.backend.admin.repository;
+
+import com.example.backend.admin.domain.HotelSettlementLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HotelSettlementLedgerRepository extends JpaRepository<HotelSettlementLedger, Long> {
+
+    boolean existsBySettlementDate(LocalDate settlementDate);
+
+    // 기간 호텔별 합계: hotel_id, hotel_name, revenue, fee, net, reservation_count, adjustment(환불 조정액)
+    @Query(value = """
+        SELECT l.hotel_id, h.name,
+               COALESCE(SUM(l.revenue),0) AS revenue,
+               COALESCE(SUM(l.fee),0) AS fee,
+               COALESCE(SUM(l.net),0) AS net,
+               COALESCE(SUM(l.reservation_count),0) AS reservation_count,
+               COALESCE(SUM(CASE WHEN l.entry_type = 'ADJUSTMENT' THEN l.revenue ELSE 0 END),0) AS adjustment
+        FROM hotel_settlement_ledger l
+        JOIN hotel h ON h.id = l.hotel_id
+        WHERE l.settlement_date BETWEEN :from AND :to
+        GROUP BY l.hotel_id, h.name
+        ORDER BY revenue DESC
+        """, nativeQuery = true)
+    List<Object[]> sumByHotelBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
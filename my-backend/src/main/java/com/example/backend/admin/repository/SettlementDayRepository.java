@@ -0,0 +1,14 @@
+package com.example.backend.admin.repository;
+
+import com.example.backend.admin.domain.SettlementDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface SettlementDayRepository extends JpaRepository<SettlementDay, LocalDate> {
+
+    @Query("SELECT MAX(d.settlementDate) FROM SettlementDay d")
+    Optional<LocalDate> findLastClosedDate();
+}
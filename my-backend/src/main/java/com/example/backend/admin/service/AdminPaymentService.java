@@ -2,8 +2,8 @@ package com.example.backend.admin.service;
 
 import com.example.backend.payment.domain.Payment;
 import com.example.backend.payment.repository.PaymentRepository;
-import com.example.backend.hotel_reservation.domain.Reservation;
-import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import com.example.backend.payment.domain.PaymentOutbox;
+import com.example.backend.payment.service.PaymentOutboxService;
 
 import jakarta.transaction.Transactional;
 
@@ -25,7 +25,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AdminPaymentService {
     private final PaymentRepository paymentRepository;
-    private final ReservationRepository reservationRepository;
+    private final PaymentOutboxService outboxService;
 
     public Page<Payment> list(Payment.Status status, LocalDateTime from, LocalDateTime to,
                               Pageable pageable) {
@@ -69,61 +69,28 @@ public class AdminPaymentService {
     public Payment get(Long id) { return paymentRepository.findById(id).orElseThrow(); }
 
     /**
-     * 결제 환불 처리
-     * - Payment 상태를 CANCELLED로 변경
-     * - 연결된 Reservation도 CANCELLED로 변경 (데이터 일관성 유지)
+     * 결제 환불 요청
+     * - 여기서는 검증 후 PG 취소를 아웃박스에 적재만 (요청 즉시 반환)
+     * - PaymentOutboxDispatcher 가 PG 취소 성공을 확인한 뒤 Payment/Reservation 을 CANCELLED 로 (재고 복구 포함)
      * @param id 결제 ID
      */
     @Transactional
     public void refund(Long id) {
-        log.info("환불 처리 시작 - paymentId: {}", id);
-        
-        // 1. 결제 정보 조회 (User 엔티티 함께 로드하여 DataIntegrityViolationException 방지)
-        Payment p = paymentRepository.findByIdWithUser(id)
+        log.info("환불 요청 - paymentId: {}", id);
+
+        Payment p = paymentRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + id));
-        
-        log.info("결제 정보 로드 완료 - paymentId: {}, reservationId: {}, userId: {}, status: {}", 
-            p.getId(), p.getReservationId(), p.getUserId(), p.getStatus());
-        
-        // 2. 결제 상태 검증
+
         if (p.getStatus() != Payment.Status.COMPLETED) {
             throw new IllegalStateException("완료된 결제만 환불할 수 있습니다. 현재 상태: " + p.getStatus());
         }
-        
-        // 3. 연결된 Reservation 조회 및 상태 변경
-        Long reservationId = p.getReservationId();
-        if (reservationId != null) {
-            Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new IllegalStateException("연결된 예약 정보를 찾을 수 없습니다."));
-
-            log.info("예약 정보 로드 - reservationId: {}, status: {}", 
-                reservation.getId(), reservation.getStatus());
-
-            if (reservation.getStatus() == Reservation.Status.CANCELLED) {
-                log.info("예약이 이미 취소 상태 - reservationId: {}", reservation.getId());
-            } else {
-                reservation.setStatus(Reservation.Status.CANCELLED);
-            }
-
-            // 예약 상태를 먼저 DB에 반영하여 제약조건 위반 방지
-            reservationRepository.saveAndFlush(reservation);
-
-            log.info("예약 취소 완료 - reservationId: {}, newStatus: {}", 
-                reservation.getId(), reservation.getStatus());
-        } else {
+        if (p.getReservationId() == null) {
             throw new IllegalStateException("결제에 연결된 예약 ID가 존재하지 않습니다.");
         }
-        
-        // 4. 결제 상태 변경
-        p.setStatus(Payment.Status.CANCELLED);
-        p.setCanceledAt(LocalDateTime.now());
-        
-        Payment saved = paymentRepository.saveAndFlush(p);
-        log.info("환불 처리 완료 - paymentId: {}, canceledAt: {}, status: {}", 
-            saved.getId(), saved.getCanceledAt(), saved.getStatus());
-    }
-
 
+        PaymentOutbox entry = outboxService.requestCancel(id, "관리자 환불", "ADMIN");
+        log.info("환불 요청 접수 - paymentId: {}, outboxId: {}, status: {}", id, entry.getId(), entry.getStatus());
+    }
 
     public PaymentAnalyticsDto getAnalytics(String granularity, Long hotelId, String paymentMethod,
                                             java.time.LocalDate from, java.time.LocalDate to) {
@@ -2,6 +2,7 @@ package com.example.backend.admin.service;
 
 import com.example.backend.hotel_reservation.domain.Reservation;
 import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import com.example.backend.hotel_reservation.service.ReservationStateMachine;
 import com.example.backend.admin.dto.ReservationDetailDto;
 import com.example.backend.admin.dto.ReservationCalendarDayDto;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +21,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AdminReservationService {
     private final ReservationRepository reservationRepository;
+    private final ReservationStateMachine stateMachine;
 
     public Page<Reservation> list(Reservation.Status status, LocalDateTime from, LocalDateTime to,
                                   LocalDateTime stayFrom, LocalDateTime stayTo,
@@ -122,6 +125,8 @@ public class AdminReservationService {
         }
     }
 
+    // 상태 변경은 모두 ReservationStateMachine 조건부 전이로 (취소 시 재고 복구 포함)
+    @Transactional
     public void cancel(Long id) {
         Reservation r = reservationRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("예약을 찾을 수 없습니다: " + id));
@@ -130,11 +135,13 @@ public class AdminReservationService {
             throw new IllegalArgumentException("이미 취소된 예약입니다.");
         }
         
-        r.setStatus(Reservation.Status.CANCELLED);
-        reservationRepository.save(r);
+        if (!stateMachine.cancel(r)) {
+            throw new IllegalArgumentException("이미 취소된 예약입니다.");
+        }
         log.info("예약 취소 완료 - ID: {}", id);
     }
 
+    @Transactional
     public void complete(Long id) {
         Reservation r = reservationRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("예약을 찾을 수 없습니다: " + id));
@@ -143,15 +150,17 @@ public class AdminReservationService {
             throw new IllegalArgumentException("이미 완료된 예약입니다.");
         }
         
-        if (r.getStatus() == Reservation.Status.CANCELLED) {
+        if (r.getStatus() != Reservation.Status.PENDING) {
             throw new IllegalArgumentException("취소된 예약은 완료 처리할 수 없습니다.");
         }
         
-        r.setStatus(Reservation.Status.COMPLETED);
-        reservationRepository.save(r);
+        if (!stateMachine.transition(r, Reservation.Status.COMPLETED)) {
+            throw new IllegalStateException("예약 상태가 변경되어 완료 처리할 수 없습니다: " + id);
+        }
         log.info("예약 완료 처리 완료 - ID: {}", id);
     }
 
+    @Transactional
     public void updateStatus(Long id, Reservation.Status newStatus) {
         Reservation r = reservationRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("예약을 찾을 수 없습니다: " + id));
@@ -161,13 +170,15 @@ public class AdminReservationService {
             throw new IllegalArgumentException("이미 " + getStatusText(newStatus) + " 상태입니다.");
         }
         
-        // 상태 변경 유효성 검사
-        if (currentStatus == Reservation.Status.CANCELLED && newStatus != Reservation.Status.CANCELLED) {
-            throw new IllegalArgumentException("취소된 예약은 다른 상태로 변경할 수 없습니다.");
+        // 상태 변경 유효성 검사 (허용 전이는 ReservationStateMachine 기준)
+        if (!ReservationStateMachine.canTransition(currentStatus, newStatus)) {
+            throw new IllegalArgumentException(getStatusText(currentStatus) + " 예약은 "
+                    + getStatusText(newStatus) + " 상태로 변경할 수 없습니다.");
         }
         
-        r.setStatus(newStatus);
-        reservationRepository.save(r);
+        if (!stateMachine.transition(r, newStatus)) {
+            throw new IllegalStateException("예약 상태가 동시에 변경되었습니다. 다시 시도해 주세요: " + id);
+        }
         log.info("예약 상태 변경 완료 - ID: {}, {} -> {}", id, getStatusText(currentStatus), getStatusText(newStatus));
     }
 
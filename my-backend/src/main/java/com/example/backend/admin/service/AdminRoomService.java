@@ -3,6 +3,7 @@ package com.example.backend.admin.service;
 import com.example.backend.admin.dto.RoomCreateRequest;
 import com.example.backend.admin.dto.RoomResponse;
 import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import com.example.backend.hotel_reservation.service.InventoryHorizonJob;
 import com.example.backend.HotelOwner.domain.Hotel;
 import com.example.backend.HotelOwner.domain.Room;
 import com.example.backend.HotelOwner.domain.RoomImage;
@@ -23,6 +24,7 @@ public class AdminRoomService {
     private final RoomRepository roomRepository;
     private final ReservationRepository reservationRepository;
     private final HotelRepository hotelRepository;
+    private final InventoryHorizonJob inventoryHorizonJob;
 
     @Transactional(readOnly = true)
     public Page<RoomResponse> list(Long hotelId, String name, Pageable pageable) {
@@ -124,6 +126,7 @@ public class AdminRoomService {
 
         // 1단계: Room을 먼저 저장 (ID 생성)
         Room savedRoom = roomRepository.save(room);
+        inventoryHorizonJob.extendRoom(savedRoom.getId(), savedRoom.getRoomCount());
         
         // 2단계: 이제 ID가 있으니 이미지 추가
         if (request.getImageUrl() != null && !request.getImageUrl().trim().isEmpty()) {
@@ -180,7 +183,10 @@ public class AdminRoomService {
         }
 
         if (request.getRoomCount() != null) {
+            if (request.getRoomCount() < 0) throw new IllegalArgumentException("객실 수(roomCount)는 0 이상이어야 합니다.");
+            Integer beforeCount = existing.getRoomCount();
             existing.setRoomCount(request.getRoomCount());
+            inventoryHorizonJob.roomCountChanged(id, beforeCount, request.getRoomCount());
         }
 
         if (request.getStatus() != null && !request.getStatus().isBlank()) {
@@ -0,0 +1,140 @@
+package com.example.backend.admin.service;
+
+import com.example.backend.admin.domain.HotelSettlementLedger;
+import com.example.backend.admin.domain.HotelSettlementLedger.EntryType;
+import com.example.backend.admin.domain.SettlementDay;
+import com.example.backend.admin.repository.HotelSettlementLedgerRepository;
+import com.example.backend.admin.repository.SettlementDayRepository;
+import com.example.backend.payment.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 호텔 정산 마감
+ * - 매일 00:20 전날까지 마감 안 된 날을 하루씩 마감 → hotel_settlement_ledger 에 호텔별 CLOSE / ADJUSTMENT 행
+ * - CLOSE 는 그날 승인(approved_at)된 결제 중 그날이 끝날 때 취소 전이던 것 (canceled_at 으로 판단)
+ *   → 승인이 다음 날로 넘어간 결제는 승인된 날에 잡힘
+ * - 마감된 날 승인된 결제가 나중에 취소되면 취소된 날의 ADJUSTMENT 로 차감 (이미 마감된 행은 건드리지 않음)
+ * - 하루 = 트랜잭션 하나, 원장 행과 마감 표시(settlement_day)를 함께 기록 → 매출 없는 날도 다시 훑지 않음
+ */
+@Slf4j
+@Service
+public class AdminSettlementService {
+
+    private final PaymentRepository paymentRepository;
+    private final HotelSettlementLedgerRepository ledgerRepository;
+    private final SettlementDayRepository dayRepository;
+    private final TransactionTemplate tx;
+    private final double feeRate;
+
+    public AdminSettlementService(PaymentRepository paymentRepository,
+                                  HotelSettlementLedgerRepository ledgerRepository,
+                                  SettlementDayRepository dayRepository,
+                                  PlatformTransactionManager txManager,
+                                  @Value("${settlement.fee-rate:0.10}") double feeRate) {
+        this.paymentRepository = paymentRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.dayRepository = dayRepository;
+        this.tx = new TransactionTemplate(txManager);
+        this.feeRate = feeRate;
+    }
+
+    public double feeRate() {
+        return feeRate;
+    }
+
+    /** 마감이 끝난 마지막 날 (아직 한 번도 마감 안 했으면 null) */
+    public LocalDate closedThrough() {
+        return dayRepository.findLastClosedDate().orElse(null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        Integer n = tx.execute(s -> paymentRepository.backfillApprovedAt());
+        if (n != null && n > 0) log.info("[SETTLEMENT] approved_at backfilled rows={}", n);
+        closePendingDays();
+    }
+
+    @Scheduled(cron = "0 20 0 * * *")
+    public void closePendingDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate from = dayRepository.findLastClosedDate()
+                .map(d -> d.plusDays(1))
+                .orElseGet(() -> {
+                    LocalDateTime first = paymentRepository.findFirstApprovedAt();
+                    return first != null ? first.toLocalDate() : null;
+                });
+        if (from == null || from.isAfter(yesterday)) return;
+
+        int entries = 0;
+        for (LocalDate d = from; !d.isAfter(yesterday); d = d.plusDays(1)) {
+            LocalDate day = d;
+            try {
+                Integer n = tx.execute(s -> closeDay(day));
+                if (n != null) entries += n;
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드가 같은 날을 동시에 마감
+                log.info("[SETTLEMENT] {} already closed by another node", day);
+            }
+        }
+        log.info("[SETTLEMENT] closed {} ~ {} (ledger entries={})", from, yesterday, entries);
+    }
+
+    /** @return 기록한 원장 행 수 (이미 마감된 날이면 0) */
+    private int closeDay(LocalDate day) {
+        if (dayRepository.existsById(day)) return 0;
+        LocalDateTime now = LocalDateTime.now();
+        // 마감 표시 도입 전에 원장만 기록된 날: 표시만 남김
+        if (ledgerRepository.existsBySettlementDate(day)) {
+            dayRepository.saveAndFlush(SettlementDay.builder().settlementDate(day).entries(0).closedAt(now).build());
+            return 0;
+        }
+
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        List<HotelSettlementLedger> entries = new ArrayList<>();
+
+        for (Object[] r : paymentRepository.settledRevenueBetween(start, end)) {
+            long revenue = ((Number) r[1]).longValue();
+            entries.add(entry(day, ((Number) r[0]).longValue(), EntryType.CLOSE,
+                    revenue, ((Number) r[2]).intValue(), now));
+        }
+        for (Object[] r : paymentRepository.lateRefundsBetween(start, end)) {
+            long refunded = ((Number) r[1]).longValue();
+            entries.add(entry(day, ((Number) r[0]).longValue(), EntryType.ADJUSTMENT,
+                    -refunded, -((Number) r[2]).intValue(), now));
+        }
+        // 표시를 먼저 써서 다른 노드와 겹치면 PK 충돌로 이 날 전체를 롤백
+        dayRepository.saveAndFlush(SettlementDay.builder()
+                .settlementDate(day).entries(entries.size()).closedAt(now).build());
+        ledgerRepository.saveAll(entries);
+        return entries.size();
+    }
+
+    private HotelSettlementLedger entry(LocalDate day, Long hotelId, EntryType type,
+                                        long revenue, int reservationCount, LocalDateTime now) {
+        long fee = Math.round(revenue * feeRate);
+        return HotelSettlementLedger.builder()
+                .settlementDate(day)
+                .hotelId(hotelId)
+                .entryType(type)
+                .revenue(revenue)
+                .fee(fee)
+                .net(revenue - fee)
+                .reservationCount(reservationCount)
+                .createdAt(now)
+                .build();
+    }
+}
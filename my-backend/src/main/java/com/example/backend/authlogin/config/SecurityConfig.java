@@ -2,6 +2,7 @@ package com.example.backend.authlogin.config;
 
 import com.example.backend.authlogin.service.CustomOAuth2UserService;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -50,9 +51,11 @@ public class SecurityConfig {
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/api/**").permitAll()
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // 비동기 응답 재디스패치 (최초 요청에서 이미 인가됨)
                 .requestMatchers("/api/admin/health/**").permitAll() // 헬스체크는 public
                 .requestMatchers("/api/admin/test").permitAll() // 테스트는 public
                 .requestMatchers("/api/admin/events/sse").permitAll() // SSE는 컨트롤러에서 자체 인증
+                .requestMatchers(HttpMethod.GET, "/api/reservations/waitlist/stream").permitAll() // 대기열 SSE도 컨트롤러에서 인증
                 .requestMatchers("/uploads/**").permitAll() 
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 // Public auth endpoints for API
@@ -0,0 +1,54 @@
+package com.example.backend.common.idempotency;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Idempotency-Key 로 처리된 요청의 첫 응답 (24시간 보관 후 재시도 시 그대로 재전송)
+ */
+@Entity
+@Table(name = "idempotency_record",
+       uniqueConstraints = @UniqueConstraint(name = "uq_idem_scope_key", columnNames = {"scope", "principal", "idem_key"}),
+       indexes = @Index(name = "idx_idem_expires", columnList = "expires_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class IdempotencyRecord {
+
+    public enum Status { IN_PROGRESS, COMPLETED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 엔드포인트 구분 (예: reservation.hold, payment.add)
+    @Column(name = "scope", nullable = false, length = 50)
+    private String scope;
+
+    // 요청자 (userId/email) — 다른 사용자의 키와 섞이지 않게
+    @Column(name = "principal", nullable = false, length = 100)
+    private String principal;
+
+    @Column(name = "idem_key", nullable = false, length = 100)
+    private String idemKey;
+
+    // 같은 키로 다른 본문이 오면 거절하기 위한 요청 해시 (SHA-256)
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "http_status")
+    private Integer httpStatus;
+
+    @Lob
+    @Column(name = "response_body", columnDefinition = "LONGTEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
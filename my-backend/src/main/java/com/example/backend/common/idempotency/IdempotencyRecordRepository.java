@@ -0,0 +1,26 @@
+package com.example.backend.common.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByScopeAndPrincipalAndIdemKey(String scope, String principal, String idemKey);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    // 처리 중(IN_PROGRESS) 선점을 아직 쥐고 있을 때만 완료로 전환 — 임대가 만료돼 다른 요청이 가져갔으면 0
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.example.backend.common.idempotency.IdempotencyRecord.Status.COMPLETED, " +
+           "r.httpStatus = :httpStatus, r.responseBody = :body, r.expiresAt = :expiresAt " +
+           "WHERE r.id = :id AND r.status = com.example.backend.common.idempotency.IdempotencyRecord.Status.IN_PROGRESS")
+    int complete(@Param("id") Long id, @Param("httpStatus") int httpStatus,
+                 @Param("body") String body, @Param("expiresAt") Instant expiresAt);
+}
@@ -0,0 +1,263 @@
+package com.example.backend.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 처리
+ * - 첫 응답(상태코드+본문)을 DB 에 24시간 보관, 같은 키 재시도는 실행 없이 그대로 재전송
+ * - 메모리 앞단: 최근 완료 응답 LRU + 처리 중인 키 (같은 노드의 동시 중복 요청은 한 번만 실행하고 결과 공유)
+ * - 다른 노드에서 처리 중이면 409 + Retry-After
+ * - 처리 중(IN_PROGRESS) 선점은 짧은 임대(in-progress-lease-seconds) → 노드가 죽어도 임대가 지나면 다음 요청이 이어받음
+ * - 응답 기록은 실제 처리와 같은 트랜잭션 → 처리가 커밋됐으면 응답도 남음 (임대를 잃었으면 처리까지 롤백)
+ * - 예외/5xx 는 저장하지 않음 → 같은 키로 다시 시도 가능
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final long WAIT_SECONDS = 30;
+
+    private record Stored(String requestHash, int status, String body, Instant expiresAt) {}
+
+    private final IdempotencyRecordRepository repo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate txRequired;
+    private final TransactionTemplate txNew;
+    private final Duration ttl;
+    private final Duration lease;
+    private final int maxEntries;
+
+    private final Map<String, CompletableFuture<ResponseEntity<?>>> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Stored> front;
+
+    public IdempotencyService(IdempotencyRecordRepository repo,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager txManager,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.in-progress-lease-seconds:30}") long leaseSeconds,
+                              @Value("${idempotency.memory.max-entries:10000}") int maxEntries) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.txRequired = new TransactionTemplate(txManager);
+        this.txNew = new TransactionTemplate(txManager);
+        this.txNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxEntries = maxEntries;
+        this.front = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+                return size() > IdempotencyService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param scope     엔드포인트 구분
+     * @param principal 요청자 식별값
+     * @param key       Idempotency-Key 헤더 (없으면 그냥 실행)
+     * @param request   요청 본문 (같은 키에 다른 본문이면 422)
+     * @param action    실제 처리 (트랜잭션 안에서 실행, 같은 트랜잭션에서 응답 기록)
+     */
+    public ResponseEntity<?> execute(String scope, String principal, String key, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) return txRequired.execute(s -> action.get());
+        if (key.length() > 100) throw new IllegalArgumentException("Idempotency-Key 는 100자 이하여야 합니다.");
+
+        String cacheKey = scope + "|" + principal + "|" + key;
+        String hash = hash(request);
+
+        Stored cached = fromFront(cacheKey);
+        if (cached != null) return replay(cached, hash);
+
+        CompletableFuture<ResponseEntity<?>> mine = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) return awaitDuplicate(running);
+
+        try {
+            ResponseEntity<?> resp = executeOwned(scope, principal, key, cacheKey, hash, action);
+            mine.complete(resp);
+            return resp;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    private ResponseEntity<?> executeOwned(String scope, String principal, String key, String cacheKey,
+                                           String hash, Supplier<ResponseEntity<?>> action) {
+        Instant now = Instant.now();
+
+        // 1) DB 에 이미 있는지
+        IdempotencyRecord existing = repo.findByScopeAndPrincipalAndIdemKey(scope, principal, key).orElse(null);
+        if (existing != null) {
+            if (existing.getExpiresAt().isAfter(now)) {
+                if (existing.getStatus() == IdempotencyRecord.Status.IN_PROGRESS) return inProgress();
+                Stored s = toStored(existing);
+                putFront(cacheKey, s);
+                return replay(s, hash);
+            }
+            // 보관 기간이 끝난 응답 또는 임대가 끝난 처리 중 선점 (처리하던 노드가 죽음) → 이어받음
+            txNew.executeWithoutResult(s -> repo.deleteById(existing.getId()));
+        }
+
+        // 2) 선점 (다른 노드와 동시 삽입이면 유니크 충돌)
+        IdempotencyRecord rec;
+        try {
+            rec = txNew.execute(s -> repo.saveAndFlush(IdempotencyRecord.builder()
+                    .scope(scope)
+                    .principal(principal)
+                    .idemKey(key)
+                    .requestHash(hash)
+                    .status(IdempotencyRecord.Status.IN_PROGRESS)
+                    .createdAt(now)
+                    .expiresAt(now.plus(lease))
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            return inProgress();
+        }
+
+        // 3) 실행 + 같은 트랜잭션에서 응답 기록
+        Instant expiresAt = now.plus(ttl);
+        Stored[] stored = new Stored[1];
+        ResponseEntity<?> resp;
+        try {
+            resp = txRequired.execute(s -> {
+                ResponseEntity<?> r = action.get();
+                if (r == null || r.getStatusCode().is5xxServerError()) return r;
+                String body = toJson(r.getBody());
+                int status = r.getStatusCode().value();
+                if (repo.complete(rec.getId(), status, body, expiresAt) == 0) {
+                    // 임대가 지나 다른 요청이 이어받음 → 이 처리는 롤백 (한 키에 커밋은 한 번)
+                    throw new IllegalStateException("같은 Idempotency-Key 요청이 다른 곳에서 처리되었습니다.");
+                }
+                stored[0] = new Stored(hash, status, body, expiresAt);
+                return r;
+            });
+        } catch (RuntimeException e) {
+            release(rec);
+            throw e;
+        }
+        if (stored[0] == null) {
+            release(rec);
+            return resp;
+        }
+        putFront(cacheKey, stored[0]);
+        return resp;
+    }
+
+    // 매시간 만료분 정리
+    @Scheduled(cron = "0 0 * * * *")
+    public void purgeExpired() {
+        Integer n = txRequired.execute(s -> repo.deleteExpired(Instant.now()));
+        if (n != null && n > 0) log.info("[IDEMPOTENCY] purged={}", n);
+    }
+
+    private ResponseEntity<?> awaitDuplicate(CompletableFuture<ResponseEntity<?>> running) {
+        try {
+            ResponseEntity<?> first = running.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            return ResponseEntity.status(first.getStatusCode())
+                    .headers(first.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(first.getBody());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            return inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return inProgress();
+        }
+    }
+
+    private ResponseEntity<?> replay(Stored s, String hash) {
+        if (!s.requestHash().equals(hash)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(Map.of("message", "같은 Idempotency-Key 로 다른 요청이 들어왔습니다."));
+        }
+        try {
+            var builder = ResponseEntity.status(s.status()).header(REPLAYED_HEADER, "true");
+            if (s.body() == null) return builder.build();
+            return builder.contentType(MediaType.APPLICATION_JSON).body(objectMapper.readTree(s.body()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static ResponseEntity<?> inProgress() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Retry-After", "1")
+                .body(Map.of("message", "같은 Idempotency-Key 요청이 처리 중입니다."));
+    }
+
+    private void release(IdempotencyRecord rec) {
+        try {
+            txNew.executeWithoutResult(s -> repo.deleteById(rec.getId()));
+        } catch (RuntimeException e) {
+            log.warn("[IDEMPOTENCY] release failed id={}: {}", rec.getId(), e.getMessage());
+        }
+    }
+
+    private synchronized Stored fromFront(String cacheKey) {
+        Stored s = front.get(cacheKey);
+        if (s == null) return null;
+        if (s.expiresAt().isBefore(Instant.now())) {
+            front.remove(cacheKey);
+            return null;
+        }
+        return s;
+    }
+
+    private synchronized void putFront(String cacheKey, Stored s) {
+        front.put(cacheKey, s);
+    }
+
+    private static Stored toStored(IdempotencyRecord r) {
+        return new Stored(r.getRequestHash(), r.getHttpStatus(), r.getResponseBody(), r.getExpiresAt());
+    }
+
+    private String toJson(Object body) {
+        if (body == null) return null;
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 해시 계산 실패", e);
+        }
+    }
+}
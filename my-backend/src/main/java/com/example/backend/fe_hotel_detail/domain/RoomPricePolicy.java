@@ -1,5 +1,6 @@
 package com.example.backend.fe_hotel_detail.domain;
 
+import com.example.backend.hotel_search.service.HotelPriceChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "Room_Price_Policy")
+@EntityListeners(HotelPriceChangeListener.class) // 검색용 최저가 요약 갱신
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,14 +1,22 @@
 // src/main/java/com/example/backend/hotel_reservation/controller/ReservationController.java
 package com.example.backend.hotel_reservation.controller;
 
+import com.example.backend.common.idempotency.IdempotencyService;
+import com.example.backend.hotel_reservation.dto.MyReservationSlice;
 import com.example.backend.hotel_reservation.dto.ReservationDtos;
 import com.example.backend.hotel_reservation.dto.ReservationDtos.*;
+import com.example.backend.hotel_reservation.service.HoldAdmission;
 import com.example.backend.hotel_reservation.service.ReservationService;
+import com.example.backend.hotel_reservation.service.WaitlistNotifier;
+import com.example.backend.hotel_reservation.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import com.example.backend.authlogin.config.JwtUtil;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -18,28 +26,43 @@ public class ReservationController {
 
     private final ReservationService service;
     private final JwtUtil jwtUtil;
+    private final IdempotencyService idempotency;
+    private final WaitlistService waitlist;
+    private final WaitlistNotifier waitlistNotifier;
+    private final HoldAdmission admission;
 
     // ✅ 토큰에서 userId 추출해서 강제로 주입
+    // Idempotency-Key 가 있으면 재시도 시 첫 응답을 그대로 재전송 (재고 중복 차감 방지)
+    // 객실별 입장 제어를 트랜잭션 바깥에서 먼저 통과해야 함 (초과 시 429 + Retry-After)
     @PostMapping("/hold")
-    public HoldResponse hold(
+    public ResponseEntity<?> hold(
             @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody HoldRequest req
     ) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Bearer token");
-        }
-        final String token = authHeader.substring(7);
-        Long userId = jwtUtil.extractClaim(token, claims -> {
-            Object v = claims.get("userId");
-            if (v == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No userId in token");
-            if (v instanceof Number n) return n.longValue();
-            try { return Long.parseLong(v.toString()); }
-            catch (Exception e) { throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid userId in token"); }
-        });
+        Long userId = userIdFrom(authHeader);
 
         // 프런트가 뭘 보내든 덮어쓰기
         req.setUserId(userId);
-        return service.hold(req);
+        return admission.admit(req.getRoomId(), () ->
+                idempotency.execute("reservation.hold", String.valueOf(userId), idempotencyKey, req,
+                        () -> ResponseEntity.ok(service.hold(req))));
+    }
+
+    // 장바구니 hold: 여러 객실을 같은 날짜로 한 번에 (전부 성공 or 전부 실패)
+    @PostMapping("/hold/cart")
+    public ResponseEntity<?> cartHold(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody CartHoldRequest req
+    ) {
+        Long userId = userIdFrom(authHeader);
+        req.setUserId(userId);
+        java.util.List<Long> roomIds = req.getItems() == null ? java.util.List.of()
+                : req.getItems().stream().map(CartItem::getRoomId).filter(java.util.Objects::nonNull).toList();
+        return admission.admitAll(roomIds, () ->
+                idempotency.execute("reservation.cart-hold", String.valueOf(userId), idempotencyKey, req,
+                        () -> ResponseEntity.ok(service.cartHold(req))));
     }
 
     @PostMapping("/{id}/confirm")
@@ -79,18 +102,74 @@ public class ReservationController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
+        Long userId = userIdFrom(authHeader);
+
+        return service.getByUserId(userId, page, size);
+    }
+
+    // 내 예약 커서 모드(무한 스크롤): cursor 파라미터가 있으면 이쪽, 첫 페이지는 cursor= (빈 값)
+    @GetMapping(value = "/my", params = "cursor")
+    public MyReservationSlice getMyByCursor(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return service.getByUserIdAfter(userIdFrom(authHeader), cursor, Math.min(Math.max(size, 1), 100));
+    }
+
+    // 재고부족 시 대기 등록 (같은 객실·기간은 1건), 재고가 풀리면 순서대로 자동 hold
+    @PostMapping("/waitlist")
+    public WaitlistResponse joinWaitlist(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody HoldRequest req
+    ) {
+        req.setUserId(userIdFrom(authHeader));
+        return waitlist.join(req);
+    }
+
+    @GetMapping("/waitlist/my")
+    public java.util.List<WaitlistResponse> getMyWaitlist(
+            @RequestHeader(value = "Authorization", required = false) String authHeader
+    ) {
+        return waitlist.listMine(userIdFrom(authHeader));
+    }
+
+    @DeleteMapping("/waitlist/{id}")
+    public void cancelWaitlist(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable Long id
+    ) {
+        waitlist.cancel(userIdFrom(authHeader), id);
+    }
+
+    // EventSource 는 헤더를 못 붙이므로 ?token= 도 허용
+    @GetMapping(value = "/waitlist/stream", produces = "text/event-stream")
+    public SseEmitter waitlistStream(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(required = false) String token
+    ) {
+        Long userId = userIdFrom(authHeader != null ? authHeader : token == null ? null : "Bearer " + token);
+        return waitlistNotifier.subscribe(userId);
+    }
+
+    @ExceptionHandler(HoldAdmission.Rejected.class)
+    public ResponseEntity<java.util.Map<String, Object>> admissionRejected(HoldAdmission.Rejected e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(java.util.Map.of("message", e.getMessage(), "retryAfter", e.getRetryAfterSeconds()));
+    }
+
+    private Long userIdFrom(String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Bearer token");
         }
         final String token = authHeader.substring(7);
-        Long userId = jwtUtil.extractClaim(token, claims -> {
+        return jwtUtil.extractClaim(token, claims -> {
             Object v = claims.get("userId");
             if (v == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No userId in token");
             if (v instanceof Number n) return n.longValue();
             try { return Long.parseLong(v.toString()); }
             catch (Exception e) { throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid userId in token"); }
         });
-
-        return service.getByUserId(userId, page, size);
     }
 }
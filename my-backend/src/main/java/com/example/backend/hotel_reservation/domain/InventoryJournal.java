@@ -0,0 +1,37 @@
+package com.example.backend.hotel_reservation.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 인메모리 재고 엔진의 변경 기록 (write-behind 대기분)
+ * - hold/취소/만료 트랜잭션과 함께 커밋 → Room_Inventory 반영 전에 죽어도 재기동 시 복구
+ * - 반영이 끝난 행은 삭제
+ */
+@Entity
+@Table(name = "inventory_journal")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class InventoryJournal {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    // [fromDate, toDate) 각 날짜에 delta 반영
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    // 차감(hold) 은 음수, 복구(취소/만료) 는 양수
+    @Column(name = "delta", nullable = false)
+    private Integer delta;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
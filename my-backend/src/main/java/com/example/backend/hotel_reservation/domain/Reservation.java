@@ -5,7 +5,8 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "reservation") // 소문자로 통일 권장
+@Table(name = "reservation", // 소문자로 통일 권장
+        indexes = @Index(name = "idx_reservation_user_start", columnList = "user_id, start_date, id")) // 내 예약 목록/커서
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Reservation {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
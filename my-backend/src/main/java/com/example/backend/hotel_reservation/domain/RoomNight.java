@@ -0,0 +1,16 @@
+package com.example.backend.hotel_reservation.domain;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+// 재고 한 칸 (객실, 숙박일). 잠금/갱신 순서는 항상 (roomId, date) 오름차순
+public record RoomNight(Long roomId, LocalDate date) implements Comparable<RoomNight> {
+
+    private static final Comparator<RoomNight> ORDER =
+            Comparator.comparing(RoomNight::roomId).thenComparing(RoomNight::date);
+
+    @Override
+    public int compareTo(RoomNight o) {
+        return ORDER.compare(this, o);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.hotel_reservation.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 재고부족으로 hold 에 실패한 요청의 대기열 (객실·숙박 기간 단위, id 순 FIFO)
+ * - 취소/만료로 재고가 풀리면 앞에서부터 hold 를 대신 잡아 PROMOTED 로 전환
+ */
+@Entity
+@Table(name = "waitlist_entry",
+       indexes = {
+           @Index(name = "idx_waitlist_room_status", columnList = "room_id, status, id"),
+           @Index(name = "idx_waitlist_user", columnList = "user_id")
+       })
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class WaitlistEntry {
+
+    public enum Status { WAITING, PROMOTED, CANCELLED, EXPIRED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "check_in", nullable = false)
+    private LocalDate checkIn;
+
+    @Column(name = "check_out", nullable = false)
+    private LocalDate checkOut;
+
+    @Column(name = "qty", nullable = false)
+    private Integer qty;
+
+    @Column(name = "num_adult", nullable = false)
+    private Integer numAdult;
+
+    @Column(name = "num_kid", nullable = false)
+    private Integer numKid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    // 승격 시 생성된 PENDING 예약
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // 대기 만료 (TTL 또는 체크인 당일 중 이른 시각)
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "promoted_at")
+    private Instant promotedAt;
+}
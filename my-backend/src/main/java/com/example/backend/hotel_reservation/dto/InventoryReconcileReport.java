@@ -0,0 +1,20 @@
+package com.example.backend.hotel_reservation.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 재고 대사 실행 현황/결과
+ * @param samples 어긋난 (객실, 날짜) 일부 (최대 100건)
+ */
+public record InventoryReconcileReport(long runId, String status, boolean fix,
+                                       LocalDate from, LocalDate to,
+                                       Instant startedAt, Instant finishedAt,
+                                       int totalRooms, int processedRooms,
+                                       long roomNightsChecked, long drifted, long fixed,
+                                       int failedPartitions, List<Drift> samples) {
+
+    // expected = total - (PENDING/COMPLETED 예약 수량 합)
+    public record Drift(Long roomId, LocalDate date, int total, int available, int expected) {}
+}
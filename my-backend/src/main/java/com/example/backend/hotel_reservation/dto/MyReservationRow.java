@@ -0,0 +1,22 @@
+package com.example.backend.hotel_reservation.dto;
+
+import com.example.backend.hotel_reservation.domain.Reservation;
+
+import java.time.Instant;
+
+// 내 예약 목록 한 줄 (예약 + 객실/호텔명 + 호텔 대표 이미지를 한 쿼리로)
+public interface MyReservationRow {
+    Long getId();
+    Reservation.Status getStatus();
+    Long getUserId();
+    Long getRoomId();
+    Long getHotelId();
+    String getHotelName();
+    String getRoomName();
+    String getCoverImage();
+    Integer getNumRooms();
+    Integer getAdults();
+    Integer getChildren();
+    Instant getStartDate();
+    Instant getEndDate();
+}
@@ -0,0 +1,11 @@
+package com.example.backend.hotel_reservation.dto;
+
+import java.util.List;
+
+// 커서 모드 응답: count 없이 다음 페이지 존재 여부 + 불투명 커서만 내려줌
+public record MyReservationSlice(
+        List<ReservationDtos.ReservationSummary> content,
+        int size,
+        boolean hasNext,
+        String nextCursor    // hasNext=false 이면 null
+) {}
@@ -39,6 +39,50 @@ public class ReservationDtos {
         private String status; // PENDING
     }
 
+    // 장바구니 hold: 같은 날짜로 여러 객실을 한 트랜잭션에서 (전부 성공 or 전부 실패)
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    public static class CartHoldRequest {
+        private Long userId;
+        private String checkIn;       // 'YYYY-MM-DD'
+        private String checkOut;      // 'YYYY-MM-DD'
+        private Integer adults;       // optional, 항목에 없으면 사용
+        private Integer children;     // optional, 항목에 없으면 사용
+        private Integer holdSeconds;  // optional, default 30
+        private List<CartItem> items;
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    public static class CartItem {
+        private Long roomId;
+        private Integer qty;
+        private Integer adults;       // optional
+        private Integer children;     // optional
+    }
+
+    @Getter @Builder
+    @NoArgsConstructor @AllArgsConstructor
+    public static class CartHoldResponse {
+        private List<HoldResponse> reservations;
+        private Instant expiresAt;
+    }
+
+    // 대기열 등록/조회 응답 (position = 같은 객실 앞 대기 수)
+    @Getter @Builder
+    @NoArgsConstructor @AllArgsConstructor
+    public static class WaitlistResponse {
+        private Long entryId;
+        private Long roomId;
+        private LocalDate checkIn;
+        private LocalDate checkOut;
+        private Integer qty;
+        private String status;        // WAITING/PROMOTED/CANCELLED/EXPIRED
+        private Long position;        // WAITING 일 때만
+        private Long reservationId;   // PROMOTED 일 때만
+        private Instant expiresAt;
+    }
+
     @Getter @Builder
     @NoArgsConstructor @AllArgsConstructor
     public static class ReservationDetail {
@@ -63,6 +107,9 @@ public class ReservationDtos {
         private Long userId;
         private Long roomId;
         private Long hotelId;
+        private String hotelName;
+        private String roomName;
+        private String coverImage; // 호텔 대표 이미지 url
         private Integer numRooms;
         private Integer adults;
         private Integer children;
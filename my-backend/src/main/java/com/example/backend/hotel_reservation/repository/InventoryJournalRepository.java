@@ -0,0 +1,14 @@
+package com.example.backend.hotel_reservation.repository;
+
+import com.example.backend.hotel_reservation.domain.InventoryJournal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface InventoryJournalRepository extends JpaRepository<InventoryJournal, Long> {
+
+    @Query(value = "SELECT * FROM inventory_journal ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<InventoryJournal> findBatch(@Param("limit") int limit);
+}
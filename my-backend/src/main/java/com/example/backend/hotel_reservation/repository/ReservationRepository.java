@@ -1,31 +1,100 @@
 package com.example.backend.hotel_reservation.repository;
 
 import com.example.backend.hotel_reservation.domain.Reservation;
+import com.example.backend.hotel_reservation.dto.MyReservationRow;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    List<Reservation> findTop500ByStatusAndExpiresAtBefore(Reservation.Status status, Instant cutoff);
+    // 만료 일괄 처리용 배치 선점: 다른 노드/스레드가 잡고 있는 행은 건너뜀 (MariaDB 10.6+ SKIP LOCKED)
+    @Query(value = """
+           SELECT * FROM reservation
+           WHERE status = 'PENDING' AND expires_at < :cutoff
+           ORDER BY id
+           LIMIT :limit
+           FOR UPDATE SKIP LOCKED
+           """, nativeQuery = true)
+    List<Reservation> claimExpired(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    // 상태 일괄 변경 (현재 상태가 from 인 행만)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :to WHERE r.id IN :ids AND r.status = :from")
+    int updateStatusIn(@Param("ids") List<Long> ids,
+                       @Param("from") Reservation.Status from,
+                       @Param("to") Reservation.Status to);
+
+    // 단건 상태 전이 CAS: 현재 상태가 from 일 때만 to 로 (반영 행 수 0 이면 다른 경로가 먼저 바꾼 것)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") Reservation.Status from,
+                   @Param("to") Reservation.Status to);
 
-    // 마이페이지(사용자별)
+    // 결제 확정용 CAS: 상태와 결제 키를 함께
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :to, r.transactionId = :transactionId WHERE r.id = :id AND r.status = :from")
+    int transitionWithTransactionId(@Param("id") Long id,
+                                    @Param("from") Reservation.Status from,
+                                    @Param("to") Reservation.Status to,
+                                    @Param("transactionId") String transactionId);
+
+    @Query("SELECT r.status FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation.Status> findStatusById(@Param("id") Long id);
+
+    // [from, to) 와 숙박 기간이 겹치는 예약 (재고 대사용)
     @Query("""
-           SELECT r
+           SELECT r FROM Reservation r
+           WHERE r.roomId IN :roomIds AND r.status IN :statuses
+             AND r.startDate < :to AND r.endDate > :from
+           """)
+    List<Reservation> findOverlapping(@Param("roomIds") Collection<Long> roomIds,
+                                      @Param("statuses") Collection<Reservation.Status> statuses,
+                                      @Param("from") Instant from,
+                                      @Param("to") Instant to);
+
+    // 기동 시 만료 타이머 복원용: [id, expiresAt]
+    @Query("SELECT r.id, r.expiresAt FROM Reservation r WHERE r.status = :status AND r.expiresAt IS NOT NULL")
+    List<Object[]> findExpiryTimes(@Param("status") Reservation.Status status);
+
+    // 내 예약 목록: 객실/호텔명 + 호텔 대표 이미지까지 한 번에 (startDate DESC, id DESC)
+    // hasCursor=true 면 (cStart, cId) 이후만 → 페이지는 PageRequest.of(0, n) 으로 LIMIT 만
+    @Query("""
+           SELECT r.id AS id, r.status AS status, r.userId AS userId, r.roomId AS roomId,
+                  h.id AS hotelId, h.name AS hotelName, rm.name AS roomName,
+                  (SELECT hi.url FROM HotelImage hi
+                   WHERE hi.hotel.id = h.id
+                   ORDER BY hi.isCover DESC, hi.sortNo ASC, hi.id ASC
+                   LIMIT 1) AS coverImage,
+                  r.numRooms AS numRooms, r.numAdult AS adults, r.numKid AS children,
+                  r.startDate AS startDate, r.endDate AS endDate
            FROM Reservation r
+           LEFT JOIN Room rm ON rm.id = r.roomId
+           LEFT JOIN rm.hotel h
            WHERE r.userId = :userId
-           ORDER BY r.createdAt DESC
+             AND (:hasCursor = false
+                  OR r.startDate < :cStart
+                  OR (r.startDate = :cStart AND r.id < :cId))
+           ORDER BY r.startDate DESC, r.id DESC
            """)
-    Page<Reservation> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    List<MyReservationRow> findMyRows(@Param("userId") Long userId,
+                                      @Param("hasCursor") boolean hasCursor,
+                                      @Param("cStart") Instant cStart,
+                                      @Param("cId") Long cId,
+                                      Pageable pageable);
 
     // 오너: 자신의 호텔들의 모든 예약
     @Query("""
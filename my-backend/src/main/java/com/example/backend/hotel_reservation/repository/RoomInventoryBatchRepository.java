@@ -0,0 +1,90 @@
+package com.example.backend.hotel_reservation.repository;
+
+import com.example.backend.hotel_reservation.domain.RoomNight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Room_Inventory JDBC 배치 쓰기 (JPA IDENTITY 는 insert 배치가 안 되므로 분리)
+ */
+@Repository
+@RequiredArgsConstructor
+public class RoomInventoryBatchRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * 객실별 [from, to) 재고 행 생성. 이미 있는 날짜는 uq_room_day 충돌로 무시 (기존 수량 유지)
+     * @param roomQuantities roomId → 총 수량 (Room.roomCount)
+     * @return 실제로 생성된 행 수
+     */
+    public int insertRange(Map<Long, Integer> roomQuantities, LocalDate from, LocalDate to) {
+        List<Object[]> rows = new ArrayList<>();
+        roomQuantities.forEach((roomId, qty) -> {
+            for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+                rows.add(new Object[]{ roomId, Date.valueOf(d), qty });
+            }
+        });
+        if (rows.isEmpty()) return 0;
+
+        int[][] counts = jdbc.batchUpdate(
+                "INSERT IGNORE INTO Room_Inventory (room_id, date, total_quantity, available_quantity) VALUES (?, ?, ?, ?)",
+                rows,
+                BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setDate(2, (Date) row[1]);
+                    ps.setInt(3, (Integer) row[2]);
+                    ps.setInt(4, (Integer) row[2]);
+                });
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int c : batch) if (c > 0) inserted += c;
+        }
+        return inserted;
+    }
+
+    /**
+     * 객실의 [from, to) 재고 행 총 수량 증감 (객실 수 변경). 잔여 수량은 InventoryEngine.adjust 로 따로 반영
+     * @return 갱신된 행 수
+     */
+    public int addTotal(Long roomId, LocalDate from, LocalDate to, int delta) {
+        return jdbc.update(
+                "UPDATE Room_Inventory SET total_quantity = total_quantity + ? WHERE room_id = ? AND date >= ? AND date < ?",
+                delta, roomId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * (roomId, date) 별 잔여 수량 증감을 배치 UPDATE 로 반영. (roomId, date) 순으로 실행해 잠금 순서를 고정
+     * @return 실제로 갱신된 행 수 (재고 행이 없는 날짜는 건너뜀)
+     */
+    public int addAvailable(Map<RoomNight, Integer> deltas) {
+        if (deltas.isEmpty()) return 0;
+        List<Map.Entry<RoomNight, Integer>> rows = new ArrayList<>(new TreeMap<>(deltas).entrySet());
+
+        int[][] counts = jdbc.batchUpdate(
+                "UPDATE Room_Inventory SET available_quantity = available_quantity + ? WHERE room_id = ? AND date = ?",
+                rows,
+                BATCH_SIZE,
+                (ps, e) -> {
+                    ps.setInt(1, e.getValue());
+                    ps.setLong(2, e.getKey().roomId());
+                    ps.setDate(3, Date.valueOf(e.getKey().date()));
+                });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int c : batch) if (c > 0) updated += c;
+        }
+        return updated;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import jakarta.persistence.LockModeType;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +19,50 @@ public interface RoomInventoryRepository extends JpaRepository<RoomInventory, Lo
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select ri from RoomInventory ri where ri.roomId = :roomId and ri.date = :date")
     Optional<RoomInventory> findWithLock(@Param("roomId") Long roomId, @Param("date") LocalDate date);
+
+    // 숙박 구간 [from, to) 를 날짜 순으로 한 번에 잠금 (항상 같은 순서 → 교착 위험 감소)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select ri from RoomInventory ri where ri.roomId = :roomId and ri.date >= :from and ri.date < :to order by ri.date")
+    List<RoomInventory> findRangeWithLock(@Param("roomId") Long roomId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 여러 객실의 구간을 (room_id, date) 전역 순서로 한 번에 잠금 (장바구니 hold)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+           select ri from RoomInventory ri
+           where ri.roomId in :roomIds and ri.date >= :from and ri.date < :to
+           order by ri.roomId, ri.date
+           """)
+    List<RoomInventory> findRangesWithLock(@Param("roomIds") Collection<Long> roomIds,
+                                           @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 재고 대사(report 모드)용: 잠금 없이 여러 객실의 구간 조회
+    @Query("""
+           select ri from RoomInventory ri
+           where ri.roomId in :roomIds and ri.date >= :from and ri.date < :to
+           order by ri.roomId, ri.date
+           """)
+    List<RoomInventory> findRanges(@Param("roomIds") Collection<Long> roomIds,
+                                   @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 구간 내 재고 행이 있는 객실 id (재고 대사 분할 대상)
+    @Query("select distinct ri.roomId from RoomInventory ri where ri.date >= :from and ri.date < :to order by ri.roomId")
+    List<Long> findRoomIdsInRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 구간 전체를 한 문장으로 차감, 모든 날짜에 qty 이상 남아 있을 때만 반영됨 (반환값 = 차감된 날짜 수)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           update RoomInventory ri set ri.availableQuantity = ri.availableQuantity - :qty
+           where ri.roomId = :roomId and ri.date >= :from and ri.date < :to
+             and ri.availableQuantity >= :qty
+           """)
+    int decrementRange(@Param("roomId") Long roomId, @Param("from") LocalDate from,
+                       @Param("to") LocalDate to, @Param("qty") int qty);
+
+    // 검색용 잔여 수량 색인 적재: [roomId, date, availableQuantity]
+    @Query("select ri.roomId, ri.date, ri.availableQuantity from RoomInventory ri where ri.date >= :from and ri.date < :to")
+    List<Object[]> findAvailabilityRows(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 구간 내 객실별 재고 행 수: [roomId, count] (달력 생성기의 누락 확인용)
+    @Query("select ri.roomId, count(ri) from RoomInventory ri where ri.date >= :from and ri.date < :to group by ri.roomId")
+    List<Object[]> countRowsByRoom(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,43 @@
+package com.example.backend.hotel_reservation.repository;
+
+import com.example.backend.hotel_reservation.domain.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // 객실의 대기 id (FIFO)
+    @Query("""
+           SELECT w.id FROM WaitlistEntry w
+           WHERE w.roomId = :roomId AND w.status = :status AND w.expiresAt > :now
+           ORDER BY w.id
+           """)
+    List<Long> findIdsByRoom(@Param("roomId") Long roomId,
+                             @Param("status") WaitlistEntry.Status status,
+                             @Param("now") Instant now,
+                             Pageable pageable);
+
+    // 승격 대상 선점 (다른 노드가 처리 중이면 건너뜀)
+    @Query(value = "SELECT * FROM waitlist_entry WHERE id = :id AND status = 'WAITING' FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<WaitlistEntry> claimWaiting(@Param("id") Long id);
+
+    Optional<WaitlistEntry> findFirstByUserIdAndRoomIdAndCheckInAndCheckOutAndStatus(
+            Long userId, Long roomId, LocalDate checkIn, LocalDate checkOut, WaitlistEntry.Status status);
+
+    List<WaitlistEntry> findByUserIdOrderByIdDesc(Long userId);
+
+    long countByRoomIdAndStatusAndIdLessThan(Long roomId, WaitlistEntry.Status status, Long id);
+
+    List<WaitlistEntry> findTop500ByStatusAndExpiresAtBefore(WaitlistEntry.Status status, Instant cutoff);
+
+    @Query("SELECT DISTINCT w.roomId FROM WaitlistEntry w WHERE w.status = :status")
+    List<Long> findRoomIdsByStatus(@Param("status") WaitlistEntry.Status status);
+}
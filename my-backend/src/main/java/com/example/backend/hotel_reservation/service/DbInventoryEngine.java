@@ -0,0 +1,134 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.hotel_reservation.domain.RoomInventory;
+import com.example.backend.hotel_reservation.domain.RoomNight;
+import com.example.backend.hotel_reservation.repository.RoomInventoryBatchRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Room_Inventory 행 잠금 기반 재고 엔진 (기본). 모든 변경이 호출 트랜잭션 안에서 바로 DB 에 반영된다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.inventory.engine", havingValue = "db", matchIfMissing = true)
+public class DbInventoryEngine implements InventoryEngine {
+
+    private final RoomInventoryRepository invRepo;
+    private final RoomInventoryBatchRepository invBatchRepo;
+
+    /**
+     * hold 재고 차감 방식
+     * - PESSIMISTIC: 구간 SELECT ... FOR UPDATE 후 차감 (기본)
+     * - CONDITIONAL: 잠금 조회 없이 available_quantity >= qty 조건부 UPDATE 한 번, 반영 행 수로 성공 판단
+     */
+    public enum HoldStrategy { PESSIMISTIC, CONDITIONAL }
+
+    // 기본값은 reservation.hold.strategy, 부하 비교용으로 ReservationService.switchHoldStrategy 로 런타임 전환
+    @Getter @Setter
+    @Value("${reservation.hold.strategy:PESSIMISTIC}")
+    private volatile HoldStrategy holdStrategy = HoldStrategy.PESSIMISTIC;
+
+    @Override
+    public void reserve(Long roomId, LocalDate from, LocalDate to, int qty) {
+        if (holdStrategy == HoldStrategy.CONDITIONAL) {
+            conditionalDecrement(roomId, from, to, qty);
+        } else {
+            lockAndDecrement(roomId, from, to, qty);
+        }
+    }
+
+    /**
+     * PESSIMISTIC: 모든 객실의 재고 행을 (room_id, date) 전역 순서로 한 번에 잠금 → 겹치는 장바구니끼리 교착 없음
+     * CONDITIONAL: room_id 오름차순으로 조건부 UPDATE
+     */
+    @Override
+    public void reserveAll(SortedMap<Long, Integer> roomQuantities, LocalDate from, LocalDate to) {
+        if (holdStrategy == HoldStrategy.CONDITIONAL) {
+            roomQuantities.forEach((roomId, qty) -> conditionalDecrement(roomId, from, to, qty));
+            return;
+        }
+
+        long nights = ChronoUnit.DAYS.between(from, to);
+        Map<Long, Integer> rowCount = new HashMap<>();
+        for (RoomInventory ri : invRepo.findRangesWithLock(roomQuantities.keySet(), from, to)) {
+            rowCount.merge(ri.getRoomId(), 1, Integer::sum);
+            if (ri.getAvailableQuantity() < roomQuantities.get(ri.getRoomId())) {
+                throw new IllegalStateException("재고부족: room=" + ri.getRoomId() + " " + ri.getDate());
+            }
+        }
+        for (Long roomId : roomQuantities.keySet()) {
+            if (rowCount.getOrDefault(roomId, 0) < nights) {
+                throw new IllegalStateException("판매 가능한 재고가 없습니다: room=" + roomId + " " + from + "~" + to.minusDays(1));
+            }
+        }
+        roomQuantities.forEach((roomId, qty) -> {
+            int updated = invRepo.decrementRange(roomId, from, to, qty);
+            if (updated != nights) {
+                throw new IllegalStateException("재고부족: room=" + roomId + " " + from + "~" + to.minusDays(1));
+            }
+        });
+    }
+
+    // 재고 행은 InventoryHorizonJob 이 미리 만들어 둠 → 없으면 복구할 대상도 없음
+    @Override
+    public void release(Long roomId, LocalDate from, LocalDate to, int qty) {
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+            invRepo.findWithLock(roomId, d).ifPresent(ri -> {
+                ri.setAvailableQuantity(ri.getAvailableQuantity() + qty);
+                invRepo.save(ri);
+            });
+        }
+    }
+
+    @Override
+    public void releaseAll(Map<RoomNight, Integer> deltas) {
+        invBatchRepo.addAvailable(deltas);
+    }
+
+    /**
+     * 숙박 구간 재고를 한 번에 잠그고 차감
+     * - range SELECT ... FOR UPDATE (날짜 순) 1회, 재고 행이 없는 날짜가 있으면 판매 불가
+     * - 조건부 UPDATE 1회로 전 구간 차감
+     */
+    private void lockAndDecrement(Long roomId, LocalDate ci, LocalDate co, int qty) {
+        long nights = ChronoUnit.DAYS.between(ci, co);
+        var locked = invRepo.findRangeWithLock(roomId, ci, co);
+        if (locked.size() < nights) {
+            throw new IllegalStateException("판매 가능한 재고가 없습니다: " + ci + "~" + co.minusDays(1));
+        }
+
+        for (RoomInventory ri : locked) {
+            if (ri.getAvailableQuantity() < qty) {
+                throw new IllegalStateException("재고부족: " + ri.getDate());
+            }
+        }
+
+        int updated = invRepo.decrementRange(roomId, ci, co, qty);
+        if (updated != nights) {
+            throw new IllegalStateException("재고부족: " + ci + "~" + co.minusDays(1));
+        }
+    }
+
+    /**
+     * 잠금 조회 없이 조건부 UPDATE 한 번으로 차감
+     * - 한 날짜라도 qty 미만(또는 재고 행 없음)이면 반영 행 수가 모자라므로 예외 → 롤백
+     */
+    private void conditionalDecrement(Long roomId, LocalDate ci, LocalDate co, int qty) {
+        int updated = invRepo.decrementRange(roomId, ci, co, qty);
+        if (updated != ChronoUnit.DAYS.between(ci, co)) {
+            throw new IllegalStateException("재고부족: " + ci + "~" + co.minusDays(1));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.backend.hotel_reservation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * hold 요청 입장 제어 (플래시 세일 대비)
+ * - 객실당 동시 hold 수를 per-room 으로 제한하고, 초과분은 객실별 짧은 공정(FIFO) 대기열에서 max-wait 까지만 대기
+ *   (대기열 길이 제한도 객실별 → 한 객실에 몰린 요청이 다른 객실 대기 자리를 차지하지 않음)
+ * - 대기열이 가득 차거나 대기 시간 초과 시 즉시 Rejected(429 + Retry-After) → 같은 재고 행에 커넥션이 몰리지 않음
+ * - 전체 동시 hold 수도 max-total 로 제한해 커넥션 풀 나머지는 검색/상세 조회 몫으로 남김
+ * - 트랜잭션(커넥션 획득) 바깥에서 호출해야 의미가 있음 → 컨트롤러에서 감쌈
+ */
+@Slf4j
+@Service
+public class HoldAdmission {
+
+    private final int perRoom;
+    private final int queueLimit;
+    private final long maxWaitMs;
+    private final Semaphore total;
+
+    private final Map<Long, Gate> gates = new ConcurrentHashMap<>();
+    // 전체 한도(total) 대기 수 — 객실 게이트를 통과한 요청만 오므로 객실당 최대 per-room 개
+    private final AtomicInteger totalWaiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejectedFull;
+    private final Counter rejectedTimeout;
+
+    public HoldAdmission(@Value("${reservation.admission.per-room:4}") int perRoom,
+                         @Value("${reservation.admission.queue:32}") int queueLimit,
+                         @Value("${reservation.admission.max-wait-ms:2000}") long maxWaitMs,
+                         @Value("${reservation.admission.max-total:6}") int maxTotal,
+                         MeterRegistry registry) {
+        this.perRoom = perRoom;
+        this.queueLimit = queueLimit;
+        this.maxWaitMs = maxWaitMs;
+        this.total = new Semaphore(maxTotal, true);
+
+        this.waitTimer = Timer.builder("reservation.admission.wait").register(registry);
+        this.rejectedFull = Counter.builder("reservation.admission.rejected").tag("reason", "queue_full").register(registry);
+        this.rejectedTimeout = Counter.builder("reservation.admission.rejected").tag("reason", "timeout").register(registry);
+        Gauge.builder("reservation.admission.queue.depth", this, HoldAdmission::queueDepth).register(registry);
+        Gauge.builder("reservation.admission.active", this, HoldAdmission::active).register(registry);
+        Gauge.builder("reservation.admission.rooms", gates, Map::size).register(registry);
+    }
+
+    public <T> T admit(Long roomId, Supplier<T> action) {
+        if (roomId == null) return action.get();
+        return admitAll(List.of(roomId), action);
+    }
+
+    /**
+     * 여러 객실(장바구니)은 roomId 오름차순으로 입장 → 서로 다른 장바구니끼리 교착 없음
+     */
+    public <T> T admitAll(Collection<Long> roomIds, Supplier<T> action) {
+        List<Gate> held = new ArrayList<>();
+        boolean totalHeld = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        try {
+            for (Long roomId : new TreeSet<>(roomIds)) {
+                Gate g = enter(roomId);
+                try {
+                    acquire(g.permits, g.waiting, deadline);
+                } catch (RuntimeException e) {
+                    leave(roomId, g);
+                    throw e;
+                }
+                held.add(g);
+            }
+            acquire(total, totalWaiting, deadline);
+            totalHeld = true;
+            return action.get();
+        } finally {
+            if (totalHeld) total.release();
+            for (Gate g : held) {
+                g.permits.release();
+                leave(g.roomId, g);
+            }
+        }
+    }
+
+    private void acquire(Semaphore s, AtomicInteger waiting, long deadline) {
+        if (s.tryAcquire()) return;
+
+        if (waiting.incrementAndGet() > queueLimit) {
+            waiting.decrementAndGet();
+            rejectedFull.increment();
+            throw new Rejected("예약 요청이 몰리고 있습니다. 잠시 후 다시 시도해 주세요.", retryAfterSeconds(waiting));
+        }
+        long started = System.nanoTime();
+        boolean ok;
+        try {
+            ok = s.tryAcquire(Math.max(0, deadline - started), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (!ok) {
+            rejectedTimeout.increment();
+            throw new Rejected("예약 대기 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요.", retryAfterSeconds(waiting));
+        }
+    }
+
+    // 사용 중인 게이트는 참조 수로 유지, 마지막 사용자가 나가면 제거 (객실 수만큼 쌓이지 않도록)
+    private Gate enter(Long roomId) {
+        return gates.compute(roomId, (k, g) -> {
+            if (g == null) g = new Gate(roomId, perRoom);
+            g.users++;
+            return g;
+        });
+    }
+
+    private void leave(Long roomId, Gate gate) {
+        gates.computeIfPresent(roomId, (k, g) -> {
+            if (g != gate) return g;
+            return --g.users == 0 ? null : g;
+        });
+    }
+
+    private int queueDepth() {
+        return totalWaiting.get() + gates.values().stream().mapToInt(g -> g.waiting.get()).sum();
+    }
+
+    private int active() {
+        return gates.values().stream().mapToInt(g -> perRoom - g.permits.availablePermits()).sum();
+    }
+
+    // 해당 대기열 길이에 비례한 재시도 간격 (1~10초)
+    private long retryAfterSeconds(AtomicInteger waiting) {
+        long perRound = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxWaitMs));
+        return Math.min(10, Math.max(1, perRound * (1 + waiting.get() / Math.max(1, queueLimit))));
+    }
+
+    private static final class Gate {
+        final Long roomId;
+        final Semaphore permits;
+        final AtomicInteger waiting = new AtomicInteger();   // 이 객실 대기 수 (queue 한도 적용)
+        int users;   // gates.compute 안에서만 변경
+
+        Gate(Long roomId, int perRoom) {
+            this.roomId = roomId;
+            this.permits = new Semaphore(perRoom, true);
+        }
+    }
+
+    @Getter
+    public static class Rejected extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public Rejected(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.hotel_reservation.domain.Reservation;
+import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * hold 만료를 expiresAt 시각에 바로 처리하는 타이머 (DelayQueue + 전용 스레드)
+ * - hold 커밋 후 schedule, 기동 시 DB 의 PENDING 예약으로 복원
+ * - ReservationExpiryJob 폴링은 누락 대비 안전망으로만 유지
+ * - 대기 중인 타이머 수는 reservation.expiry.timer.pending 게이지
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoldExpiryScheduler {
+
+    private final ReservationRepository resRepo;
+    private final MeterRegistry registry;
+
+    // ReservationService → 이 빈 → ReservationService 순환이라 지연 주입
+    @Autowired
+    @Lazy
+    private ReservationService reservationService;
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private volatile Thread worker;
+
+    private record Expiry(Long reservationId, long dueMillis) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(dueMillis, ((Expiry) o).dueMillis);
+        }
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("reservation.expiry.timer.pending", queue, DelayQueue::size).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int restored = 0;
+        for (Object[] row : resRepo.findExpiryTimes(Reservation.Status.PENDING)) {
+            queue.add(new Expiry(((Number) row[0]).longValue(), ((Instant) row[1]).toEpochMilli()));
+            restored++;
+        }
+        Thread t = new Thread(this::run, "hold-expiry");
+        t.setDaemon(true);
+        worker = t;
+        t.start();
+        log.info("[EXPIRE-TIMER] started, restored={}", restored);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread t = worker;
+        worker = null;
+        if (t != null) t.interrupt();
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 후 등록 (롤백된 hold 는 등록하지 않음)
+     */
+    public void schedule(Long reservationId, Instant expiresAt) {
+        if (reservationId == null || expiresAt == null) return;
+        Expiry e = new Expiry(reservationId, expiresAt.toEpochMilli());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queue.add(e);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queue.add(e);
+            }
+        });
+    }
+
+    private void run() {
+        while (worker != null) {
+            Expiry e;
+            try {
+                e = queue.take();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                reservationService.expireIfDue(e.reservationId());
+            } catch (Exception ex) {
+                // 실패분은 폴링 잡이 다시 처리
+                log.warn("[EXPIRE-TIMER] reservationId={} failed: {}", e.reservationId(), ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.hotel_reservation.domain.RoomNight;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * 객실·날짜별 잔여 재고 차감/복구
+ * - reservation.inventory.engine=db (기본): Room_Inventory 행 잠금 ({@link DbInventoryEngine})
+ * - reservation.inventory.engine=memory: 스트라이프 인메모리 장부 + write-behind ({@link StripedInventoryEngine})
+ * 호출 트랜잭션이 롤백되면 차감/복구도 함께 취소된다.
+ */
+public interface InventoryEngine {
+
+    /**
+     * [from, to) 각 날짜에서 qty 차감. 재고 행이 없거나 한 날짜라도 부족하면 IllegalStateException
+     */
+    void reserve(Long roomId, LocalDate from, LocalDate to, int qty);
+
+    /**
+     * 여러 객실을 같은 기간으로 전부 차감하거나 전부 실패 (roomId → qty)
+     */
+    void reserveAll(SortedMap<Long, Integer> roomQuantities, LocalDate from, LocalDate to);
+
+    /**
+     * [from, to) 각 날짜에 qty 복구 (재고 행이 없는 날짜는 건너뜀)
+     */
+    void release(Long roomId, LocalDate from, LocalDate to, int qty);
+
+    /**
+     * (roomId, date) 별 복구 수량 일괄 반영 (만료 스윕)
+     */
+    void releaseAll(Map<RoomNight, Integer> deltas);
+
+    /**
+     * (roomId, date) 별 잔여 수량 보정 (재고 대사). 음수 delta 허용
+     */
+    default void adjust(Map<RoomNight, Integer> deltas) {
+        releaseAll(deltas);
+    }
+
+    /**
+     * 새로 만들어진 재고 행 통지 (InventoryHorizonJob). 행이 없던 날짜만 quantity 로 채움
+     */
+    default void rowsCreated(Long roomId, LocalDate from, LocalDate to, int quantity) {}
+}
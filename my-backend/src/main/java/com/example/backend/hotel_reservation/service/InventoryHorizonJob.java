@@ -0,0 +1,130 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.HotelOwner.repository.RoomRepository;
+import com.example.backend.hotel_reservation.domain.RoomNight;
+import com.example.backend.hotel_reservation.repository.RoomInventoryBatchRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryRepository;
+import com.example.backend.hotel_search.service.RoomAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 재고 달력 선생성: 모든 객실에 대해 오늘부터 horizonDays 일치 Room_Inventory 행을 Room.roomCount 로 만들어 둔다.
+ * - 기동 시: 구간 내 행 수가 모자란 객실만 전체 구간 INSERT IGNORE (빈 날짜 메움)
+ * - 매일 새벽: 모든 객실의 끝 구간(최근 7일치)만 연장
+ * - 객실 등록 시: extendRoom 으로 즉시 생성 → hold 경로는 재고 행을 만들지 않는다
+ * - 객실 수 변경 시: roomCountChanged 로 오늘 이후 행의 총/잔여 수량을 차이만큼 증감
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryHorizonJob {
+
+    // 매일 연장 시 끝에서부터 다시 채우는 일수 (스케줄 누락 대비)
+    private static final int EXTEND_OVERLAP_DAYS = 7;
+
+    private final RoomRepository roomRepo;
+    private final RoomInventoryRepository invRepo;
+    private final RoomInventoryBatchRepository invBatchRepo;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final InventoryEngine inventory;
+
+    @Value("${reservation.inventory.horizon-days:365}")
+    private int horizonDays;
+
+    // 인메모리 재고 엔진 적재보다 먼저 실행
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void onReady() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(horizonDays);
+
+        Map<Long, Long> existing = new HashMap<>();
+        for (Object[] row : invRepo.countRowsByRoom(from, to)) {
+            existing.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        Map<Long, Integer> targets = new HashMap<>();
+        for (Map.Entry<Long, Integer> e : roomCounts().entrySet()) {
+            if (existing.getOrDefault(e.getKey(), 0L) < horizonDays) targets.put(e.getKey(), e.getValue());
+        }
+
+        int inserted = invBatchRepo.insertRange(targets, from, to);
+        if (inserted > 0) availabilityIndex.reload();
+        log.info("[INV-HORIZON] startup fill rooms={} inserted={} ~{}", targets.size(), inserted, to.minusDays(1));
+    }
+
+    @Scheduled(cron = "0 10 3 * * *")
+    @Transactional
+    public void extendDaily() {
+        LocalDate to = LocalDate.now().plusDays(horizonDays);
+        LocalDate from = to.minusDays(Math.min(EXTEND_OVERLAP_DAYS, horizonDays));
+
+        Map<Long, Integer> rooms = roomCounts();
+        int inserted = invBatchRepo.insertRange(rooms, from, to);
+        rooms.forEach((roomId, qty) -> {
+            availabilityIndex.fill(roomId, from, to, qty);
+            inventory.rowsCreated(roomId, from, to, qty);
+        });
+        log.info("[INV-HORIZON] extended rooms={} inserted={} ~{}", rooms.size(), inserted, to.minusDays(1));
+    }
+
+    /**
+     * 새 객실의 재고 달력 생성 (객실 등록 트랜잭션 안에서 호출)
+     * @throws IllegalArgumentException roomCount 가 없거나 음수
+     */
+    public void extendRoom(Long roomId, Integer roomCount) {
+        if (roomId == null) return;
+        if (roomCount == null || roomCount < 0) {
+            throw new IllegalArgumentException("객실 수(roomCount)는 0 이상이어야 합니다.");
+        }
+        int qty = roomCount;
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(horizonDays);
+
+        int inserted = invBatchRepo.insertRange(Map.of(roomId, qty), from, to);
+        availabilityIndex.fill(roomId, from, to, qty);
+        inventory.rowsCreated(roomId, from, to, qty);
+        log.info("[INV-HORIZON] roomId={} qty={} inserted={}", roomId, qty, inserted);
+    }
+
+    /**
+     * 객실 수 변경 반영 (객실 수정 트랜잭션 안에서 호출)
+     * 오늘부터 달력 끝까지 총 수량과 잔여 수량을 차이만큼 증감 — 이미 잡힌 예약 수량은 그대로 유지
+     */
+    public void roomCountChanged(Long roomId, Integer before, Integer after) {
+        if (roomId == null || after == null) return;
+        int delta = Math.max(after, 0) - (before == null ? 0 : Math.max(before, 0));
+        if (delta == 0) return;
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(horizonDays);
+
+        int rows = invBatchRepo.addTotal(roomId, from, to, delta);
+        Map<RoomNight, Integer> deltas = new HashMap<>();
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) deltas.put(new RoomNight(roomId, d), delta);
+        inventory.adjust(deltas);
+        availabilityIndex.apply(roomId, from, to, delta);
+        log.info("[INV-HORIZON] roomId={} roomCount {} → {} (delta={}, rows={})", roomId, before, after, delta, rows);
+    }
+
+    private Map<Long, Integer> roomCounts() {
+        Map<Long, Integer> out = new HashMap<>();
+        for (Object[] row : roomRepo.findAllRoomCounts()) {
+            Integer count = row[1] == null ? 0 : ((Number) row[1]).intValue();
+            out.put(((Number) row[0]).longValue(), Math.max(count, 0));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.hotel_reservation.domain.Reservation;
+import com.example.backend.hotel_reservation.domain.RoomInventory;
+import com.example.backend.hotel_reservation.domain.RoomNight;
+import com.example.backend.hotel_reservation.dto.InventoryReconcileReport;
+import com.example.backend.hotel_reservation.dto.InventoryReconcileReport.Drift;
+import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryRepository;
+import com.example.backend.hotel_search.service.RoomAvailabilityIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 재고 대사: 객실·날짜별 기대 잔여 수량(total - PENDING/COMPLETED 예약 수량 합)과 Room_Inventory.available_quantity 비교
+ * - 객실 id 목록을 PARTITION_ROOMS 단위로 쪼개 전용 ForkJoinPool 에서 병렬 처리 (파티션 하나 = 트랜잭션 하나)
+ * - fix=true 면 파티션의 재고 행을 잠근 뒤 계산하고 차이를 InventoryEngine.adjust 로 보정
+ * - 한 번에 하나만 실행, 진행 현황은 status(), 지표는 inventory.reconcile.*
+ * - 검색 인덱스(RoomAvailabilityIndex)는 보정이 커밋된 뒤에만 반영
+ * - 인메모리 재고 엔진이면 보고만 가능 (fix 거절): 장부 차감이 DB 보다 먼저 일어나고 journal 은 flush 때 반영되므로
+ *   DB 만 보고 계산한 차이는 아직 반영 안 된 journal 과 겹쳐 이중 보정됨. 보고 전에 journal 은 한 번 반영
+ */
+@Slf4j
+@Service
+public class InventoryReconciler {
+
+    private static final int PARTITION_ROOMS = 50;
+    private static final int MAX_SAMPLES = 100;
+    private static final List<Reservation.Status> ACTIVE = List.of(Reservation.Status.PENDING, Reservation.Status.COMPLETED);
+
+    private final RoomInventoryRepository invRepo;
+    private final ReservationRepository resRepo;
+    private final InventoryEngine inventory;
+    private final ObjectProvider<StripedInventoryEngine> memoryEngine;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final TransactionTemplate tx;
+    private final ForkJoinPool pool;
+    private final int horizonDays;
+    private final boolean autoFix;
+
+    private final Counter checkedCounter;
+    private final Counter driftCounter;
+    private final Counter fixedCounter;
+    private final Timer durationTimer;
+
+    private final AtomicLong runSeq = new AtomicLong();
+    private final AtomicReference<Run> current = new AtomicReference<>();
+    private volatile Run last;
+
+    public InventoryReconciler(RoomInventoryRepository invRepo,
+                               ReservationRepository resRepo,
+                               InventoryEngine inventory,
+                               ObjectProvider<StripedInventoryEngine> memoryEngine,
+                               RoomAvailabilityIndex availabilityIndex,
+                               PlatformTransactionManager txManager,
+                               MeterRegistry registry,
+                               @Value("${reservation.reconcile.parallelism:4}") int parallelism,
+                               @Value("${reservation.reconcile.auto-fix:false}") boolean autoFix,
+                               @Value("${reservation.inventory.horizon-days:365}") int horizonDays) {
+        this.invRepo = invRepo;
+        this.resRepo = resRepo;
+        this.inventory = inventory;
+        this.memoryEngine = memoryEngine;
+        this.availabilityIndex = availabilityIndex;
+        this.tx = new TransactionTemplate(txManager);
+        this.pool = new ForkJoinPool(Math.max(parallelism, 1));
+        this.autoFix = autoFix;
+        this.horizonDays = horizonDays;
+
+        this.checkedCounter = Counter.builder("inventory.reconcile.checked").register(registry);
+        this.driftCounter = Counter.builder("inventory.reconcile.drift").register(registry);
+        this.fixedCounter = Counter.builder("inventory.reconcile.fixed").register(registry);
+        this.durationTimer = Timer.builder("inventory.reconcile.duration").register(registry);
+        Gauge.builder("inventory.reconcile.progress", this, InventoryReconciler::progress).register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // 매일 새벽 (달력 연장 이후) 대사
+    @Scheduled(cron = "0 40 3 * * *")
+    public void nightly() {
+        boolean fix = autoFix;
+        if (fix && memoryEngineActive()) {
+            log.warn("[RECONCILE] auto-fix disabled with in-memory inventory engine, report only");
+            fix = false;
+        }
+        try {
+            execute(begin(fix, null, null));
+        } catch (IllegalStateException e) {
+            log.warn("[RECONCILE] nightly skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 백그라운드로 대사 시작 (from/to 없으면 오늘부터 horizon-days)
+     * @throws IllegalStateException 이미 실행 중이거나, 인메모리 재고 엔진에서 fix 요청
+     */
+    public InventoryReconcileReport start(boolean fix, LocalDate from, LocalDate to) {
+        Run run = begin(fix, from, to);
+        Thread t = new Thread(() -> execute(run), "inventory-reconcile");
+        t.setDaemon(true);
+        t.start();
+        return run.snapshot();
+    }
+
+    /**
+     * 실행 중이면 현재 진행 현황, 아니면 마지막 결과 (한 번도 안 돌았으면 null)
+     */
+    public InventoryReconcileReport status() {
+        Run r = current.get();
+        if (r == null) r = last;
+        return r == null ? null : r.snapshot();
+    }
+
+    private Run begin(boolean fix, LocalDate from, LocalDate to) {
+        LocalDate f = from != null ? from : LocalDate.now();
+        LocalDate t = to != null ? to : f.plusDays(horizonDays);
+        if (!f.isBefore(t)) throw new IllegalArgumentException("to must be after from");
+        if (fix && memoryEngineActive()) {
+            throw new IllegalStateException("인메모리 재고 엔진(reservation.inventory.engine=memory) 사용 중에는 재고 보정을 할 수 없습니다. fix=false 로 보고만 받으세요.");
+        }
+
+        Run run = new Run(runSeq.incrementAndGet(), fix, f, t);
+        if (!current.compareAndSet(null, run)) throw new IllegalStateException("재고 대사가 이미 실행 중입니다.");
+        return run;
+    }
+
+    private void execute(Run run) {
+        long started = System.nanoTime();
+        try {
+            memoryEngine.ifAvailable(StripedInventoryEngine::flush);
+            List<Long> roomIds = invRepo.findRoomIdsInRange(run.from, run.to);
+            run.totalRooms = roomIds.size();
+            pool.invoke(new Partition(roomIds, run));
+            run.status = run.failedPartitions.get() == 0 ? "DONE" : "PARTIAL";
+        } catch (RuntimeException e) {
+            run.status = "FAILED";
+            log.error("[RECONCILE] run={} failed", run.id, e);
+        } finally {
+            run.finishedAt = Instant.now();
+            durationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            last = run;
+            current.set(null);
+            log.info("[RECONCILE] run={} status={} fix={} rooms={} checked={} drifted={} fixed={} failedPartitions={}",
+                    run.id, run.status, run.fix, run.totalRooms, run.checked.get(), run.drifted.get(),
+                    run.fixed.get(), run.failedPartitions.get());
+        }
+    }
+
+    // 객실 id 목록을 반씩 나눠 PARTITION_ROOMS 이하가 되면 처리
+    private final class Partition extends RecursiveAction {
+        private final List<Long> roomIds;
+        private final Run run;
+
+        Partition(List<Long> roomIds, Run run) {
+            this.roomIds = roomIds;
+            this.run = run;
+        }
+
+        @Override
+        protected void compute() {
+            if (roomIds.size() <= PARTITION_ROOMS) {
+                reconcile(roomIds, run);
+                return;
+            }
+            int mid = roomIds.size() / 2;
+            invokeAll(new Partition(roomIds.subList(0, mid), run),
+                      new Partition(roomIds.subList(mid, roomIds.size()), run));
+        }
+    }
+
+    private void reconcile(List<Long> roomIds, Run run) {
+        if (roomIds.isEmpty()) return;
+        try {
+            tx.executeWithoutResult(s -> reconcileInTx(roomIds, run));
+        } catch (RuntimeException e) {
+            run.failedPartitions.incrementAndGet();
+            log.warn("[RECONCILE] run={} partition {}..{} failed: {}",
+                    run.id, roomIds.get(0), roomIds.get(roomIds.size() - 1), e.getMessage());
+        } finally {
+            run.processedRooms.addAndGet(roomIds.size());
+        }
+    }
+
+    private void reconcileInTx(List<Long> roomIds, Run run) {
+        // 보정할 때는 재고 행을 잠가 계산 중 hold/취소와 엇갈리지 않게
+        List<RoomInventory> rows = run.fix
+                ? invRepo.findRangesWithLock(roomIds, run.from, run.to)
+                : invRepo.findRanges(roomIds, run.from, run.to);
+
+        Map<RoomNight, Integer> held = new HashMap<>();
+        for (Reservation r : resRepo.findOverlapping(roomIds, ACTIVE, startOfDayUtc(run.from), startOfDayUtc(run.to))) {
+            LocalDate ci = r.getStartDate().atZone(ZoneOffset.UTC).toLocalDate();
+            LocalDate co = r.getEndDate().atZone(ZoneOffset.UTC).toLocalDate();
+            int qty = Optional.ofNullable(r.getNumRooms()).orElse(1);
+            for (LocalDate d = ci.isBefore(run.from) ? run.from : ci; d.isBefore(co) && d.isBefore(run.to); d = d.plusDays(1)) {
+                held.merge(new RoomNight(r.getRoomId(), d), qty, Integer::sum);
+            }
+        }
+
+        Map<RoomNight, Integer> deltas = new HashMap<>();
+        for (RoomInventory ri : rows) {
+            RoomNight key = new RoomNight(ri.getRoomId(), ri.getDate());
+            int expected = ri.getTotalQuantity() - held.getOrDefault(key, 0);
+            if (expected != ri.getAvailableQuantity()) {
+                deltas.put(key, expected - ri.getAvailableQuantity());
+                run.sample(new Drift(ri.getRoomId(), ri.getDate(), ri.getTotalQuantity(), ri.getAvailableQuantity(), expected));
+            }
+        }
+        run.checked.addAndGet(rows.size());
+        run.drifted.addAndGet(deltas.size());
+        checkedCounter.increment(rows.size());
+        driftCounter.increment(deltas.size());
+
+        if (run.fix && !deltas.isEmpty()) {
+            inventory.adjust(deltas);
+            // 롤백되면 인덱스/집계에 남지 않도록 커밋 후 반영
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deltas.forEach((rn, d) -> availabilityIndex.apply(rn.roomId(), rn.date(), rn.date().plusDays(1), d));
+                    run.fixed.addAndGet(deltas.size());
+                    fixedCounter.increment(deltas.size());
+                }
+            });
+        }
+    }
+
+    private boolean memoryEngineActive() {
+        return memoryEngine.getIfAvailable() != null;
+    }
+
+    private double progress() {
+        Run r = current.get();
+        if (r == null) return 1.0;
+        return r.totalRooms == 0 ? 0.0 : (double) r.processedRooms.get() / r.totalRooms;
+    }
+
+    private static Instant startOfDayUtc(LocalDate d) {
+        return d.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static final class Run {
+        final long id;
+        final boolean fix;
+        final LocalDate from;
+        final LocalDate to;
+        final Instant startedAt = Instant.now();
+        volatile Instant finishedAt;
+        volatile String status = "RUNNING";
+        volatile int totalRooms;
+        final AtomicInteger processedRooms = new AtomicInteger();
+        final AtomicLong checked = new AtomicLong();
+        final AtomicLong drifted = new AtomicLong();
+        final AtomicLong fixed = new AtomicLong();
+        final AtomicInteger failedPartitions = new AtomicInteger();
+        final AtomicInteger sampleCount = new AtomicInteger();
+        final Queue<Drift> samples = new ConcurrentLinkedQueue<>();
+
+        Run(long id, boolean fix, LocalDate from, LocalDate to) {
+            this.id = id;
+            this.fix = fix;
+            this.from = from;
+            this.to = to;
+        }
+
+        void sample(Drift d) {
+            if (sampleCount.incrementAndGet() <= MAX_SAMPLES) samples.add(d);
+        }
+
+        InventoryReconcileReport snapshot() {
+            return new InventoryReconcileReport(id, status, fix, from, to, startedAt, finishedAt,
+                    totalRooms, processedRooms.get(), checked.get(), drifted.get(), fixed.get(),
+                    failedPartitions.get(), List.copyOf(samples));
+        }
+    }
+}
@@ -2,45 +2,96 @@ package com.example.backend.hotel_reservation.service;
 
 import com.example.backend.hotel_reservation.domain.*;
 import com.example.backend.hotel_reservation.repository.*;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 
+/**
+ * 만료 폴링 (안전망) — 정시 만료는 HoldExpiryScheduler 가 담당,
+ * 여기서는 타이머가 놓친 건(재기동 직전 등록분, 처리 실패분)만 정리
+ * - 워커마다 SELECT ... FOR UPDATE SKIP LOCKED 로 배치를 선점 → 여러 노드/스레드가 겹치지 않게 병렬 처리
+ * - 배치 전이는 ReservationStateMachine.expireClaimed: 상태 UPDATE ... WHERE id IN (...) AND status='PENDING' 한 번,
+ *   전부 반영됐을 때만 (roomId, date) 별 복구 수량을 모아 InventoryEngine.releaseAll 한 번
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ReservationExpiryJob {
+    private static final int BATCH = 500;
+    // 한 번의 실행에서 워커당 최대 배치 수 (무한 루프 방지)
+    private static final int MAX_ROUNDS = 20;
+
     private final ReservationRepository resRepo;
-    private final RoomInventoryRepository invRepo;
+    private final ReservationStateMachine stateMachine;
+    private final TransactionTemplate tx;
+    private final int workers;
+    private final ExecutorService pool;
+
+    public ReservationExpiryJob(ReservationRepository resRepo,
+                                ReservationStateMachine stateMachine,
+                                PlatformTransactionManager txManager,
+                                @Value("${reservation.expiry.workers:2}") int workers) {
+        this.resRepo = resRepo;
+        this.stateMachine = stateMachine;
+        this.tx = new TransactionTemplate(txManager);
+        this.workers = Math.max(workers, 1);
+        this.pool = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread t = new Thread(r, "expiry-sweep");
+            t.setDaemon(true);
+            return t;
+        });
+    }
 
-    // 15초마다 만료체크
-    @Scheduled(fixedDelay = 15_000)
-    @Transactional
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // 1분마다 만료체크
+    @Scheduled(fixedDelay = 60_000)
     public void expirePending() {
-        Instant now = Instant.now();
-        List<Reservation> list = resRepo.findTop500ByStatusAndExpiresAtBefore(Reservation.Status.PENDING, now);
-        for (Reservation r : list) {
-            // 재고 복구
-            LocalDate ci = r.getStartDate().atZone(java.time.ZoneOffset.UTC).toLocalDate();
-            LocalDate co = r.getEndDate().atZone(java.time.ZoneOffset.UTC).toLocalDate();
-            int qty = r.getNumRooms() == null ? 1 : r.getNumRooms();
-
-            for (LocalDate d = ci; d.isBefore(co); d = d.plusDays(1)) {
-                RoomInventory inv = invRepo.findWithLock(r.getRoomId(), d).orElse(null);
-                if (inv != null) {
-                    inv.setAvailableQuantity(inv.getAvailableQuantity() + qty);
-                    invRepo.save(inv);
-                }
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(pool.submit(this::drain));
+        }
+        int total = 0;
+        for (Future<Integer> f : futures) {
+            try {
+                total += f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.warn("[EXPIRE-SWEEP] worker failed: {}", e.getCause().getMessage());
             }
-            r.setStatus(Reservation.Status.CANCELLED);
-            resRepo.save(r);
-            log.info("[EXPIRE] reservationId={} → CANCELLED", r.getId());
         }
+        if (total > 0) log.info("[EXPIRE-SWEEP] cancelled={} workers={}", total, workers);
+    }
+
+    private int drain() {
+        int total = 0;
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            Integer n = tx.execute(s -> expireBatch());
+            if (n == null || n == 0) break;
+            total += n;
+        }
+        return total;
+    }
+
+    // 트랜잭션 하나 = 선점한 배치 하나
+    private int expireBatch() {
+        List<Reservation> list = resRepo.claimExpired(Instant.now(), BATCH);
+        if (list.isEmpty()) return 0;
+
+        int cancelled = stateMachine.expireClaimed(list);
+        log.info("[EXPIRE-SWEEP] cancelled={} ids={}", cancelled, list.stream().map(Reservation::getId).toList());
+        return cancelled;
     }
 }
@@ -1,19 +1,22 @@
 package com.example.backend.hotel_reservation.service;
 
 import com.example.backend.hotel_reservation.domain.Reservation;
-import com.example.backend.hotel_reservation.domain.RoomInventory;
 import com.example.backend.hotel_reservation.dto.ReservationDtos;
+import com.example.backend.hotel_reservation.dto.ReservationDtos.CartHoldRequest;
+import com.example.backend.hotel_reservation.dto.ReservationDtos.CartHoldResponse;
+import com.example.backend.hotel_reservation.dto.ReservationDtos.CartItem;
 import com.example.backend.hotel_reservation.dto.ReservationDtos.HoldRequest;
 import com.example.backend.hotel_reservation.dto.ReservationDtos.HoldResponse;
+import com.example.backend.hotel_reservation.dto.MyReservationCursor;
+import com.example.backend.hotel_reservation.dto.MyReservationRow;
+import com.example.backend.hotel_reservation.dto.MyReservationSlice;
 import com.example.backend.hotel_reservation.repository.ReservationRepository;
-import com.example.backend.hotel_reservation.repository.RoomInventoryRepository;
 import com.example.backend.HotelOwner.repository.RoomRepository;
+import com.example.backend.hotel_search.service.RoomAvailabilityIndex;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +28,32 @@ import java.util.*;
 @RequiredArgsConstructor
 public class ReservationService {
 
-    private final RoomInventoryRepository invRepo;
     private final ReservationRepository resRepo;
     private final RoomRepository roomRepo;
+    private final InventoryEngine inventory;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final HoldExpiryScheduler expiryScheduler;
+    private final ReservationStateMachine stateMachine;
+
+    /** 현재 hold 재고 차감 방식 (인메모리 엔진이면 null) */
+    public DbInventoryEngine.HoldStrategy holdStrategy() {
+        return inventory instanceof DbInventoryEngine db ? db.getHoldStrategy() : null;
+    }
+
+    /**
+     * hold 재고 차감 방식 런타임 전환 (부하 비교용, 다음 hold 부터 적용)
+     * @throws IllegalStateException DB 재고 엔진이 아닐 때
+     */
+    public DbInventoryEngine.HoldStrategy switchHoldStrategy(DbInventoryEngine.HoldStrategy strategy) {
+        if (strategy == null) throw new IllegalArgumentException("strategy is required");
+        if (!(inventory instanceof DbInventoryEngine db)) {
+            throw new IllegalStateException("hold 방식 전환은 DB 재고 엔진(reservation.inventory.engine=db)에서만 가능합니다.");
+        }
+        DbInventoryEngine.HoldStrategy before = db.getHoldStrategy();
+        db.setHoldStrategy(strategy);
+        log.info("[HOLD] strategy {} → {}", before, strategy);
+        return strategy;
+    }
 
     private static LocalDate parseYmd(String s) {
         return LocalDate.parse(s);
@@ -37,22 +63,6 @@ public class ReservationService {
         return d.atStartOfDay(ZoneOffset.UTC).toInstant();
     }
 
-    private static List<LocalDate> days(LocalDate startInclusive, LocalDate endExclusive) {
-        List<LocalDate> list = new ArrayList<>();
-        for (LocalDate d = startInclusive; d.isBefore(endExclusive); d = d.plusDays(1)) list.add(d);
-        return list;
-    }
-
-    private RoomInventory getOrCreateLocked(Long roomId, LocalDate date) {
-        return invRepo.findWithLock(roomId, date)
-                .orElseGet(() -> invRepo.save(RoomInventory.builder()
-                        .roomId(roomId)
-                        .date(date)
-                        .totalQuantity(5)
-                        .availableQuantity(5)
-                        .build()));
-    }
-
     @Transactional
     public HoldResponse hold(HoldRequest req) {
         if (req.getUserId() == null) throw new IllegalArgumentException("userId is required (from JWT)");
@@ -63,19 +73,8 @@ public class ReservationService {
         if (!ci.isBefore(co)) throw new IllegalArgumentException("checkOut must be after checkIn");
 
         int qty = req.getQty();
-        List<LocalDate> stay = days(ci, co);
-
-        List<RoomInventory> locked = new ArrayList<>();
-        for (LocalDate d : stay) {
-            RoomInventory ri = getOrCreateLocked(req.getRoomId(), d);
-            if (ri.getAvailableQuantity() < qty) {
-                throw new IllegalStateException("재고부족: " + d);
-            }
-            locked.add(ri);
-        }
-
-        locked.forEach(ri -> ri.setAvailableQuantity(ri.getAvailableQuantity() - qty));
-        invRepo.saveAllAndFlush(locked);
+        inventory.reserve(req.getRoomId(), ci, co, qty);
+        availabilityIndex.apply(req.getRoomId(), ci, co, -qty);
 
         int holdSec = Optional.ofNullable(req.getHoldSeconds()).orElse(30);
         Instant now = Instant.now();
@@ -91,6 +90,7 @@ public class ReservationService {
                 .expiresAt(now.plusSeconds(holdSec))
                 .build();
         resRepo.save(r);
+        expiryScheduler.schedule(r.getId(), r.getExpiresAt());
 
         log.info("[HOLD] userId={} reservationId={} room={} {}~{} qty={} expiresAt={}",
                 r.getUserId(), r.getId(), r.getRoomId(), ci, co.minusDays(1), qty, r.getExpiresAt());
@@ -102,6 +102,78 @@ public class ReservationService {
                 .build();
     }
 
+    /**
+     * 장바구니 hold: 같은 숙박 기간의 여러 객실을 한 트랜잭션에서 전부 잡거나 전부 실패
+     * - 같은 roomId 항목은 수량 합산, roomId 오름차순으로 InventoryEngine.reserveAll
+     * - 한 객실이라도 실패하면 예외 → 앞서 차감한 객실까지 롤백
+     */
+    @Transactional
+    public CartHoldResponse cartHold(CartHoldRequest req) {
+        if (req.getUserId() == null) throw new IllegalArgumentException("userId is required (from JWT)");
+        if (req.getItems() == null || req.getItems().isEmpty()) throw new IllegalArgumentException("items is required");
+
+        LocalDate ci = parseYmd(req.getCheckIn());
+        LocalDate co = parseYmd(req.getCheckOut());
+        if (!ci.isBefore(co)) throw new IllegalArgumentException("checkOut must be after checkIn");
+
+        // roomId 오름차순 + 중복 합산
+        TreeMap<Long, CartItem> items = new TreeMap<>();
+        for (CartItem it : req.getItems()) {
+            if (it.getRoomId() == null) throw new IllegalArgumentException("roomId is required");
+            if (it.getQty() == null || it.getQty() < 1) throw new IllegalArgumentException("qty must be >= 1");
+            items.merge(it.getRoomId(), it, (a, b) -> new CartItem(a.getRoomId(), a.getQty() + b.getQty(),
+                    sum(a.getAdults(), b.getAdults()), sum(a.getChildren(), b.getChildren())));
+        }
+
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        items.forEach((roomId, it) -> quantities.put(roomId, it.getQty()));
+        inventory.reserveAll(quantities, ci, co);
+
+        int holdSec = Optional.ofNullable(req.getHoldSeconds()).orElse(30);
+        Instant expiresAt = Instant.now().plusSeconds(holdSec);
+        List<Reservation> saved = new ArrayList<>(items.size());
+        for (CartItem it : items.values()) {
+            availabilityIndex.apply(it.getRoomId(), ci, co, -it.getQty());
+            saved.add(Reservation.builder()
+                    .userId(req.getUserId())
+                    .roomId(it.getRoomId())
+                    .numRooms(it.getQty())
+                    .numAdult(Optional.ofNullable(it.getAdults()).or(() -> Optional.ofNullable(req.getAdults())).orElse(0))
+                    .numKid(Optional.ofNullable(it.getChildren()).or(() -> Optional.ofNullable(req.getChildren())).orElse(0))
+                    .startDate(toStartOfDayUtc(ci))
+                    .endDate(toStartOfDayUtc(co))
+                    .status(Reservation.Status.PENDING)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        resRepo.saveAll(saved);
+
+        List<HoldResponse> out = new ArrayList<>(saved.size());
+        for (Reservation r : saved) {
+            expiryScheduler.schedule(r.getId(), r.getExpiresAt());
+            out.add(HoldResponse.builder()
+                    .reservationId(r.getId())
+                    .expiresAt(r.getExpiresAt())
+                    .status(r.getStatus().name())
+                    .build());
+        }
+        log.info("[CART-HOLD] userId={} rooms={} {}~{} reservations={} expiresAt={}",
+                req.getUserId(), items.keySet(), ci, co.minusDays(1),
+                saved.stream().map(Reservation::getId).toList(), expiresAt);
+
+        return CartHoldResponse.builder()
+                .reservations(out)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static Integer sum(Integer a, Integer b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a + b;
+    }
+
+    // 상태 전이는 ReservationStateMachine 의 조건부 UPDATE 로 → 만료와 겹치면 한쪽만 성공
     @Transactional
     public void confirm(Long reservationId) {
         Reservation r = resRepo.findById(reservationId)
@@ -111,23 +183,29 @@ public class ReservationService {
             log.info("[CONFIRM] reservationId={} 이미 COMPLETED (idempotent)", r.getId());
             return;
         }
-    if (r.getStatus() == Reservation.Status.CANCELLED) {
+        if (r.getStatus() != Reservation.Status.PENDING) {
             throw new IllegalStateException("취소된 예약은 확정 불가");
         }
+        // 시간초과분은 만료 타이머/스윕이 취소 + 재고 복구 (여기서 취소하면 예외 롤백으로 함께 사라짐)
         if (r.getExpiresAt() != null && Instant.now().isAfter(r.getExpiresAt())) {
-            cancelInternal(r);
             throw new IllegalStateException("시간초과로 예약이 만료되었습니다.");
         }
-    r.setStatus(Reservation.Status.COMPLETED);
-        resRepo.save(r);
-        log.info("[CONFIRM] reservationId={} COMPLETED", r.getId());
+        if (!stateMachine.confirm(r, r.getTransactionId())) {
+            Reservation.Status now = resRepo.findStatusById(reservationId).orElse(null);
+            if (now == Reservation.Status.COMPLETED) {
+                log.info("[CONFIRM] reservationId={} 이미 COMPLETED (idempotent)", reservationId);
+                return;
+            }
+            throw new IllegalStateException("취소된 예약은 확정 불가");
+        }
+        log.info("[CONFIRM] reservationId={} COMPLETED", reservationId);
     }
 
     @Transactional
     public void cancel(Long reservationId) {
         Reservation r = resRepo.findById(reservationId)
                 .orElseThrow(() -> new NoSuchElementException("예약 없음"));
-        cancelInternal(r);
+        stateMachine.cancel(r);
         log.info("[CANCEL] reservationId={} CANCELLED", r.getId());
     }
 
@@ -142,30 +220,10 @@ public class ReservationService {
             throw new SecurityException("본인 소유 호텔의 예약만 취소할 수 있습니다.");
         }
 
-        cancelInternal(r);
+        stateMachine.cancel(r);
         log.info("[OWNER-CANCEL] ownerId={} reservationId={} -> CANCELLED", ownerId, reservationId);
     }
 
-    private void cancelInternal(Reservation r) {
-        if (r.getStatus() != Reservation.Status.PENDING) {
-            r.setStatus(Reservation.Status.CANCELLED);
-            resRepo.save(r);
-            return;
-        }
-        LocalDate ci = r.getStartDate().atZone(ZoneOffset.UTC).toLocalDate();
-        LocalDate co = r.getEndDate().atZone(ZoneOffset.UTC).toLocalDate();
-        List<LocalDate> stay = days(ci, co);
-
-        int qty = Optional.ofNullable(r.getNumRooms()).orElse(1);
-        for (LocalDate d : stay) {
-            RoomInventory ri = getOrCreateLocked(r.getRoomId(), d);
-            ri.setAvailableQuantity(ri.getAvailableQuantity() + qty);
-            invRepo.save(ri);
-        }
-    r.setStatus(Reservation.Status.CANCELLED);
-        resRepo.save(r);
-    }
-
     @Transactional(readOnly = true)
     public ReservationDtos.ReservationDetail get(Long id) {
         Reservation r = resRepo.findById(id)
@@ -186,31 +244,66 @@ public class ReservationService {
                 .build();
     }
 
+    // 내 예약 (offset 페이지): 호텔/객실명·대표 이미지까지 한 쿼리 (예약마다 hotelId 조회하던 N+1 제거)
     @Transactional(readOnly = true)
     public List<ReservationDtos.ReservationSummary> getByUserId(Long userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "startDate"));
-        var pageRes = resRepo.findByUserId(userId, pageable);
-
-        List<ReservationDtos.ReservationSummary> list = new ArrayList<>(pageRes.getNumberOfElements());
-        for (Reservation r : pageRes.getContent()) {
-            Long hotelId = roomRepo.findHotelIdByRoomId(r.getRoomId());
-            list.add(ReservationDtos.ReservationSummary.builder()
-                    .id(r.getId())
-                    .status(r.getStatus().name())
-                    .userId(r.getUserId())
-                    .roomId(r.getRoomId())
-                    .hotelId(hotelId)
-                    .numRooms(r.getNumRooms())
-                    .adults(r.getNumAdult())
-                    .children(r.getNumKid())
-                    .startDate(r.getStartDate())
-                    .endDate(r.getEndDate())
-                    .build());
-        }
+        List<ReservationDtos.ReservationSummary> list = resRepo
+                .findMyRows(userId, false, Instant.EPOCH, 0L, PageRequest.of(page, size))
+                .stream().map(ReservationService::toSummary).toList();
         log.info("[MY] userId={} -> {} rows", userId, list.size());
         return list;
     }
 
+    // 내 예약 (커서): startDate DESC, id DESC 기준 이어서 조회, size+1 건으로 다음 페이지 여부만 판단
+    @Transactional(readOnly = true)
+    public MyReservationSlice getByUserIdAfter(Long userId, String cursor, int size) {
+        MyReservationCursor after = MyReservationCursor.decode(cursor);
+        boolean hasCursor = after != null;
+        List<ReservationDtos.ReservationSummary> rows = resRepo
+                .findMyRows(userId, hasCursor, hasCursor ? after.startDate() : Instant.EPOCH,
+                        hasCursor ? after.id() : 0L, PageRequest.of(0, size + 1))
+                .stream().map(ReservationService::toSummary).toList();
+
+        boolean hasNext = rows.size() > size;
+        List<ReservationDtos.ReservationSummary> content = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? MyReservationCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new MyReservationSlice(content, size, hasNext, next);
+    }
+
+    private static ReservationDtos.ReservationSummary toSummary(MyReservationRow row) {
+        return ReservationDtos.ReservationSummary.builder()
+                .id(row.getId())
+                .status(row.getStatus().name())
+                .userId(row.getUserId())
+                .roomId(row.getRoomId())
+                .hotelId(row.getHotelId())
+                .hotelName(row.getHotelName())
+                .roomName(row.getRoomName())
+                .coverImage(row.getCoverImage())
+                .numRooms(row.getNumRooms())
+                .adults(row.getAdults())
+                .children(row.getChildren())
+                .startDate(row.getStartDate())
+                .endDate(row.getEndDate())
+                .build();
+    }
+
+    /**
+     * 만료 시각이 지난 PENDING 예약만 취소하고 재고 복구 (타이머/폴링 공용)
+     * expiresAt 은 생성 후 바뀌지 않으므로 읽은 값으로 판단하고, 상태는 PENDING → CANCELLED 조건부 UPDATE 로 중복 방지
+     * @return 실제로 만료 처리했으면 true
+     */
+    @Transactional
+    public boolean expireIfDue(Long id) {
+        Reservation r = resRepo.findById(id).orElse(null);
+        if (r == null || r.getStatus() != Reservation.Status.PENDING) return false;
+        if (r.getExpiresAt() == null || r.getExpiresAt().isAfter(Instant.now())) return false;
+
+        if (!stateMachine.transition(r, Reservation.Status.CANCELLED)) return false;
+        log.info("[EXPIRE] reservationId={} → CANCELLED", id);
+        return true;
+    }
+
     /**
      * 예약을 강제로 만료시킵니다 (PENDING -> CANCELLED)
      * 재고를 복구합니다.
@@ -220,33 +313,21 @@ public class ReservationService {
         Reservation r = resRepo.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("예약 없음: " + id));
 
-        // 이미 CANCELLED면 멱등 처리
-        if (r.getStatus() == Reservation.Status.CANCELLED) {
-            log.info("[EXPIRE] reservationId={} 이미 CANCELLED (idempotent)", id);
-            return;
+        // PENDING 상태만 만료 처리 (그 사이 확정되면 전이 실패 → 최신 상태로 판단)
+        Reservation.Status status = r.getStatus();
+        if (status == Reservation.Status.PENDING && !stateMachine.transition(r, Reservation.Status.CANCELLED)) {
+            status = resRepo.findStatusById(id).orElse(status);
         }
 
         // COMPLETED는 만료 불가
-        if (r.getStatus() == Reservation.Status.COMPLETED) {
+        if (status == Reservation.Status.COMPLETED) {
             throw new IllegalStateException("완료된 예약은 만료할 수 없습니다: " + id);
         }
-
-        // PENDING 상태만 만료 처리
-        if (r.getStatus() == Reservation.Status.PENDING) {
-            // 재고 복구
-            LocalDate ci = r.getStartDate().atZone(ZoneOffset.UTC).toLocalDate();
-            LocalDate co = r.getEndDate().atZone(ZoneOffset.UTC).toLocalDate();
-            int qty = Optional.ofNullable(r.getNumRooms()).orElse(1);
-
-            for (LocalDate d : days(ci, co)) {
-                RoomInventory inv = getOrCreateLocked(r.getRoomId(), d);
-                inv.setAvailableQuantity(inv.getAvailableQuantity() + qty);
-                invRepo.save(inv);
-            }
+        // 이미 CANCELLED면 멱등 처리
+        if (status != Reservation.Status.PENDING) {
+            log.info("[EXPIRE] reservationId={} 이미 {} (idempotent)", id, status);
+            return;
         }
-
-        r.setStatus(Reservation.Status.CANCELLED);
-        resRepo.save(r);
         log.info("[EXPIRE] reservationId={} → CANCELLED (재고 복구 완료)", id);
     }
 }
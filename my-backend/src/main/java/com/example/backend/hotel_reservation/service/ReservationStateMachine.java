@@ -0,0 +1,150 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.hotel_reservation.domain.Reservation;
+import com.example.backend.hotel_reservation.domain.Reservation.Status;
+import com.example.backend.hotel_reservation.domain.RoomNight;
+import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import com.example.backend.hotel_search.service.RoomAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * 예약 상태 전이 (모든 경로 공용)
+ * - 전이는 UPDATE reservation SET status=:to WHERE id=:id AND status=:from 한 줄로 적용, 반영 행 수로 성공 판단
+ *   → 만료와 결제 확정이 겹쳐도 한쪽만 성공 (예약 행 잠금/재조회 불필요)
+ * - 재고 복구는 전이가 실제로 성공했을 때만: 재고를 잡고 있는 상태(PENDING/COMPLETED) → 놓는 상태(CANCELLED/EXPIRED)
+ *
+ * 허용 전이: PENDING → COMPLETED | CANCELLED | EXPIRED, COMPLETED → CANCELLED (CANCELLED/EXPIRED 는 종료 상태)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationStateMachine {
+
+    private static final Map<Status, Set<Status>> ALLOWED = new EnumMap<>(Map.of(
+            Status.PENDING, EnumSet.of(Status.COMPLETED, Status.CANCELLED, Status.EXPIRED),
+            Status.COMPLETED, EnumSet.of(Status.CANCELLED),
+            Status.CANCELLED, EnumSet.noneOf(Status.class),
+            Status.EXPIRED, EnumSet.noneOf(Status.class)));
+
+    private static final Set<Status> HOLDS_INVENTORY = EnumSet.of(Status.PENDING, Status.COMPLETED);
+
+    private final ReservationRepository resRepo;
+    private final InventoryEngine inventory;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final WaitlistService waitlist;
+
+    public static boolean canTransition(Status from, Status to) {
+        return ALLOWED.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * r 을 읽은 시점의 상태(r.getStatus())에서 to 로 전이
+     * @return 성공 시 true (r.status 도 갱신), 그 사이 다른 경로가 상태를 바꿨으면 false
+     * @throws IllegalStateException 허용되지 않는 전이
+     */
+    @Transactional
+    public boolean transition(Reservation r, Status to) {
+        return apply(r, to, null, false);
+    }
+
+    // 결제 확정: PENDING → COMPLETED + 결제 키 기록
+    @Transactional
+    public boolean confirm(Reservation r, String transactionId) {
+        if (r.getStatus() != Status.PENDING) return false;
+        return apply(r, Status.COMPLETED, transactionId, true);
+    }
+
+    /**
+     * 현재 상태가 무엇이든 CANCELLED 로 (이미 종료 상태면 false)
+     * CAS 가 지면 최신 상태를 다시 읽어 재시도 — 상태는 앞으로만 진행하므로 최대 몇 번이면 끝남
+     */
+    @Transactional
+    public boolean cancel(Reservation r) {
+        while (canTransition(r.getStatus(), Status.CANCELLED)) {
+            if (apply(r, Status.CANCELLED, null, false)) return true;
+            Status current = resRepo.findStatusById(r.getId())
+                    .orElseThrow(() -> new NoSuchElementException("예약 없음"));
+            r.setStatus(current);
+        }
+        return false;
+    }
+
+    /**
+     * 만료 배치: claimExpired 로 선점(FOR UPDATE)한 PENDING 예약들을 한 번에 CANCELLED
+     * 재고 복구는 (roomId, date) 별로 모아 releaseAll 한 번
+     * @return 전이된 건수
+     */
+    @Transactional
+    public int expireClaimed(List<Reservation> claimed) {
+        if (claimed.isEmpty()) return 0;
+        List<Long> ids = claimed.stream().map(Reservation::getId).toList();
+        int cancelled = resRepo.updateStatusIn(ids, Status.PENDING, Status.CANCELLED);
+        // 행 잠금으로 선점했으므로 전부 바뀌어야 정상, 아니면 재고를 건드리지 않고 배치 롤백
+        if (cancelled != ids.size()) {
+            throw new IllegalStateException("만료 배치 상태 불일치: expected=" + ids.size() + " actual=" + cancelled);
+        }
+
+        Map<RoomNight, Integer> deltas = new HashMap<>();
+        for (Reservation r : claimed) {
+            LocalDate ci = checkIn(r);
+            LocalDate co = checkOut(r);
+            int qty = quantity(r);
+            for (LocalDate d = ci; d.isBefore(co); d = d.plusDays(1)) {
+                deltas.merge(new RoomNight(r.getRoomId(), d), qty, Integer::sum);
+            }
+            r.setStatus(Status.CANCELLED);
+        }
+        inventory.releaseAll(deltas);
+        deltas.forEach((rn, qty) -> availabilityIndex.apply(rn.roomId(), rn.date(), rn.date().plusDays(1), qty));
+        claimed.stream().map(Reservation::getRoomId).distinct().forEach(waitlist::released);
+        return cancelled;
+    }
+
+    private boolean apply(Reservation r, Status to, String transactionId, boolean withTransactionId) {
+        Status from = r.getStatus();
+        if (!canTransition(from, to)) {
+            throw new IllegalStateException("예약 상태를 " + from + " 에서 " + to + " 로 변경할 수 없습니다.");
+        }
+        int n = withTransactionId
+                ? resRepo.transitionWithTransactionId(r.getId(), from, to, transactionId)
+                : resRepo.transition(r.getId(), from, to);
+        if (n == 0) {
+            log.info("[STATE] reservationId={} {} → {} lost (changed concurrently)", r.getId(), from, to);
+            return false;
+        }
+
+        r.setStatus(to);
+        if (withTransactionId) r.setTransactionId(transactionId);
+        if (HOLDS_INVENTORY.contains(from) && !HOLDS_INVENTORY.contains(to)) release(r);
+        log.info("[STATE] reservationId={} {} → {}", r.getId(), from, to);
+        return true;
+    }
+
+    private void release(Reservation r) {
+        LocalDate ci = checkIn(r);
+        LocalDate co = checkOut(r);
+        int qty = quantity(r);
+        inventory.release(r.getRoomId(), ci, co, qty);
+        waitlist.released(r.getRoomId());
+        availabilityIndex.apply(r.getRoomId(), ci, co, qty);
+    }
+
+    private static LocalDate checkIn(Reservation r) {
+        return r.getStartDate().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static LocalDate checkOut(Reservation r) {
+        return r.getEndDate().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static int quantity(Reservation r) {
+        return Optional.ofNullable(r.getNumRooms()).orElse(1);
+    }
+}
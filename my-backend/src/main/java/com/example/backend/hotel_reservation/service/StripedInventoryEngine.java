@@ -0,0 +1,318 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.hotel_reservation.domain.InventoryJournal;
+import com.example.backend.hotel_reservation.domain.RoomNight;
+import com.example.backend.hotel_reservation.repository.InventoryJournalRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryBatchRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 인메모리 재고 엔진 (reservation.inventory.engine=memory, 단일 노드 전용)
+ * - 객실별 int[] (epochDay % ringDays 위치) 장부, roomId 해시로 나눈 스트라이프 단위 CAS 스핀락으로 직렬화
+ *   → 인기 객실 hold 가 Room_Inventory 행 잠금을 기다리지 않음
+ * - 차감은 즉시 장부에 반영(롤백 시 원복), 복구는 커밋 후 반영
+ * - 변경분은 inventory_journal 에 호출 트랜잭션과 함께 기록 → flush 주기마다 (roomId, date) 합산해 Room_Inventory 배치 UPDATE 후 삭제
+ * - 기동 시: 남은 journal 을 먼저 반영하고 Room_Inventory 에서 장부 적재, 적재 전 요청은 IllegalStateException
+ * - 장부 크기는 reservation.inventory.horizon-days(달력 길이)에서 계산 → 달력을 늘려도 먼 날짜가 잘리거나 겹치지 않음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reservation.inventory.engine", havingValue = "memory")
+public class StripedInventoryEngine implements InventoryEngine {
+
+    // 달력 끝 너머로 더 적재하는 여유분(일)
+    private static final int AHEAD_SLACK_DAYS = 35;
+    private static final int NO_ROW = Integer.MIN_VALUE;
+    private static final int FLUSH_BATCH = 5000;
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    // 객실 하나의 날짜별 잔여 수량. 해당 스트라이프 잠금 안에서만 읽고 쓴다
+    private static final class RoomLedger {
+        final int[] cells;
+        // 유효 구간 [untilDay - cells.length, untilDay)
+        long untilDay;
+
+        RoomLedger(int ringDays, long untilDay) {
+            this.cells = new int[ringDays];
+            Arrays.fill(cells, NO_ROW);
+            this.untilDay = untilDay;
+        }
+
+        int index(long day) {
+            if (day < untilDay - cells.length || day >= untilDay) return -1;
+            return Math.floorMod(day, cells.length);
+        }
+    }
+
+    private final InventoryJournalRepository journalRepo;
+    private final RoomInventoryRepository invRepo;
+    private final RoomInventoryBatchRepository invBatchRepo;
+    private final TransactionTemplate tx;
+    private final int stripes;
+    // 적재 구간: [오늘 + loadAheadDays - ringDays, 오늘 + loadAheadDays)
+    private final int loadAheadDays;
+    private final int ringDays;
+    private final AtomicIntegerArray stripeLocks;
+    private final Map<Long, RoomLedger> rooms = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public StripedInventoryEngine(InventoryJournalRepository journalRepo,
+                                  RoomInventoryRepository invRepo,
+                                  RoomInventoryBatchRepository invBatchRepo,
+                                  PlatformTransactionManager txManager,
+                                  @Value("${reservation.inventory.memory.stripes:64}") int stripes,
+                                  @Value("${reservation.inventory.horizon-days:365}") int horizonDays,
+                                  @Value("${reservation.inventory.memory.past-days:112}") int pastDays) {
+        // 설정이 어긋나면 기동 실패 (적재 구간이 달력을 못 덮으면 먼 날짜가 재고 없음으로 보임)
+        if (horizonDays < 1 || pastDays < 0) {
+            throw new IllegalStateException("reservation.inventory.horizon-days 는 1 이상, memory.past-days 는 0 이상이어야 합니다: horizon-days="
+                    + horizonDays + ", past-days=" + pastDays);
+        }
+        this.journalRepo = journalRepo;
+        this.invRepo = invRepo;
+        this.invBatchRepo = invBatchRepo;
+        this.tx = new TransactionTemplate(txManager);
+        this.stripes = Math.max(stripes, 1);
+        this.stripeLocks = new AtomicIntegerArray(this.stripes);
+        this.loadAheadDays = horizonDays + AHEAD_SLACK_DAYS;
+        this.ringDays = loadAheadDays + pastDays;
+    }
+
+    // InventoryHorizonJob 의 달력 생성 이후, 다른 기동 리스너(벤치마크 등)보다는 먼저 적재
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE - 100)
+    public void onReady() {
+        int replayed = flushAll();
+
+        long until = LocalDate.now().toEpochDay() + loadAheadDays;
+        LocalDate from = LocalDate.ofEpochDay(until - ringDays);
+        LocalDate to = LocalDate.ofEpochDay(until);
+        int cells = 0;
+        for (Object[] row : invRepo.findAvailabilityRows(from, to)) {
+            long roomId = ((Number) row[0]).longValue();
+            RoomLedger l = rooms.computeIfAbsent(roomId, k -> new RoomLedger(ringDays, until));
+            l.cells[l.index(((LocalDate) row[1]).toEpochDay())] = ((Number) row[2]).intValue();
+            cells++;
+        }
+        ready = true;
+        log.info("[INV-MEMORY] loaded rooms={} cells={} replayedJournal={} stripes={} ringDays={}",
+                rooms.size(), cells, replayed, stripes, ringDays);
+    }
+
+    @Override
+    public void reserve(Long roomId, LocalDate from, LocalDate to, int qty) {
+        reserveAll(new TreeMap<>(Map.of(roomId, qty)), from, to);
+    }
+
+    @Override
+    public void reserveAll(SortedMap<Long, Integer> roomQuantities, LocalDate from, LocalDate to) {
+        checkReady();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("재고 차감은 트랜잭션 안에서 호출해야 합니다.");
+        }
+
+        // 스트라이프 번호 오름차순으로 잠가 교착 방지
+        int[] locks = roomQuantities.keySet().stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        for (int s : locks) lock(s);
+        try {
+            roomQuantities.forEach((roomId, qty) -> check(roomId, from, to, qty));
+            roomQuantities.forEach((roomId, qty) -> addLocked(roomId, from, to, -qty));
+        } finally {
+            for (int s : locks) unlock(s);
+        }
+
+        // 롤백되면 장부 원복 (journal 기록 실패 포함)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    roomQuantities.forEach((roomId, qty) -> add(roomId, from, to, qty));
+                }
+            }
+        });
+
+        Instant now = Instant.now();
+        List<InventoryJournal> entries = new ArrayList<>(roomQuantities.size());
+        roomQuantities.forEach((roomId, qty) -> entries.add(journal(roomId, from, to, -qty, now)));
+        journalRepo.saveAll(entries);
+    }
+
+    @Override
+    public void release(Long roomId, LocalDate from, LocalDate to, int qty) {
+        checkReady();
+        journalRepo.save(journal(roomId, from, to, qty, Instant.now()));
+        afterCommit(() -> add(roomId, from, to, qty));
+    }
+
+    @Override
+    public void releaseAll(Map<RoomNight, Integer> deltas) {
+        if (deltas.isEmpty()) return;
+        checkReady();
+        Instant now = Instant.now();
+        List<InventoryJournal> entries = new ArrayList<>(deltas.size());
+        deltas.forEach((rn, qty) -> entries.add(journal(rn.roomId(), rn.date(), rn.date().plusDays(1), qty, now)));
+        journalRepo.saveAll(entries);
+        afterCommit(() -> deltas.forEach((rn, qty) -> add(rn.roomId(), rn.date(), rn.date().plusDays(1), qty)));
+    }
+
+    /**
+     * 달력 연장/새 객실: 장부 구간을 to 까지 밀고, 행이 없던 날짜만 quantity 로 채움
+     */
+    @Override
+    public void rowsCreated(Long roomId, LocalDate from, LocalDate to, int quantity) {
+        afterCommit(() -> {
+            if (!ready) return;   // 적재 시 DB 에서 읽힘
+            int s = stripeOf(roomId);
+            lock(s);
+            try {
+                long f = from.toEpochDay();
+                long t = to.toEpochDay();
+                RoomLedger l = rooms.computeIfAbsent(roomId, k -> new RoomLedger(ringDays, t));
+                if (t > l.untilDay) {
+                    // 구간 밖으로 밀려나는 (ringDays 일 전) 칸 비우기
+                    for (long day = Math.max(l.untilDay, t - ringDays); day < t; day++) l.cells[Math.floorMod(day, ringDays)] = NO_ROW;
+                    l.untilDay = t;
+                }
+                for (long day = Math.max(f, t - ringDays); day < t; day++) {
+                    int idx = l.index(day);
+                    if (idx >= 0 && l.cells[idx] == NO_ROW) l.cells[idx] = quantity;
+                }
+            } finally {
+                unlock(s);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.inventory.memory.flush-ms:500}")
+    public void flush() {
+        if (!ready) return;
+        int n = flushAll();
+        if (n > 0) log.debug("[INV-MEMORY] flushed journal={}", n);
+    }
+
+    private int flushAll() {
+        int total = 0;
+        while (true) {
+            Integer n = tx.execute(s -> flushBatch());
+            if (n == null || n == 0) return total;
+            total += n;
+            if (n < FLUSH_BATCH) return total;
+        }
+    }
+
+    // journal 배치 → (roomId, date) 합산 → Room_Inventory 배치 UPDATE + journal 삭제 (한 트랜잭션)
+    private int flushBatch() {
+        List<InventoryJournal> batch = journalRepo.findBatch(FLUSH_BATCH);
+        if (batch.isEmpty()) return 0;
+
+        Map<RoomNight, Integer> deltas = new HashMap<>();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (InventoryJournal j : batch) {
+            for (LocalDate d = j.getFromDate(); d.isBefore(j.getToDate()); d = d.plusDays(1)) {
+                deltas.merge(new RoomNight(j.getRoomId(), d), j.getDelta(), Integer::sum);
+            }
+            ids.add(j.getId());
+        }
+        deltas.values().removeIf(v -> v == 0);
+
+        invBatchRepo.addAvailable(deltas);
+        // id 범위가 아니라 읽은 id 만 삭제 (늦게 커밋된 낮은 id 를 지우지 않도록)
+        journalRepo.deleteAllByIdInBatch(ids);
+        return batch.size();
+    }
+
+    private void check(Long roomId, LocalDate from, LocalDate to, int qty) {
+        RoomLedger l = rooms.get(roomId);
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+            int idx = l == null ? -1 : l.index(d.toEpochDay());
+            if (idx < 0 || l.cells[idx] == NO_ROW) {
+                throw new IllegalStateException("판매 가능한 재고가 없습니다: room=" + roomId + " " + d);
+            }
+            if (l.cells[idx] < qty) {
+                throw new IllegalStateException("재고부족: room=" + roomId + " " + d);
+            }
+        }
+    }
+
+    private void add(Long roomId, LocalDate from, LocalDate to, int delta) {
+        int s = stripeOf(roomId);
+        lock(s);
+        try {
+            addLocked(roomId, from, to, delta);
+        } finally {
+            unlock(s);
+        }
+    }
+
+    // 장부에 없는 날짜는 건너뜀 (DB 에도 행이 없음)
+    private void addLocked(Long roomId, LocalDate from, LocalDate to, int delta) {
+        RoomLedger l = rooms.get(roomId);
+        if (l == null) return;
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+            int idx = l.index(d.toEpochDay());
+            if (idx >= 0 && l.cells[idx] != NO_ROW) l.cells[idx] += delta;
+        }
+    }
+
+    private int stripeOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), stripes);
+    }
+
+    private void lock(int stripe) {
+        int spins = 0;
+        while (!stripeLocks.compareAndSet(stripe, 0, 1)) {
+            if (++spins < SPINS_BEFORE_YIELD) Thread.onSpinWait();
+            else Thread.yield();
+        }
+    }
+
+    private void unlock(int stripe) {
+        stripeLocks.set(stripe, 0);
+    }
+
+    private void checkReady() {
+        if (!ready) throw new IllegalStateException("재고 장부를 적재하는 중입니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private static InventoryJournal journal(Long roomId, LocalDate from, LocalDate to, int delta, Instant now) {
+        return InventoryJournal.builder()
+                .roomId(roomId)
+                .fromDate(from)
+                .toDate(to)
+                .delta(delta)
+                .createdAt(now)
+                .build();
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
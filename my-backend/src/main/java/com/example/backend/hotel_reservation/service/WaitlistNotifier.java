@@ -0,0 +1,47 @@
+package com.example.backend.hotel_reservation.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 대기열 사용자 SSE 알림 (사용자당 여러 탭 허용)
+ */
+@Service
+public class WaitlistNotifier {
+    private final Map<Long, CopyOnWriteArrayList<SseEmitter>> clients = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(30).toMillis());
+        clients.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        try { emitter.send(SseEmitter.event().name("ready").data("ok")); } catch (IOException ignored) {}
+        return emitter;
+    }
+
+    public void send(Long userId, String event, Object data) {
+        var emitters = clients.get(userId);
+        if (emitters == null) return;
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException e) {
+                emitter.complete();
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        clients.computeIfPresent(userId, (k, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.hotel_reservation.domain.WaitlistEntry;
+import com.example.backend.hotel_reservation.dto.ReservationDtos.HoldRequest;
+import com.example.backend.hotel_reservation.dto.ReservationDtos.HoldResponse;
+import com.example.backend.hotel_reservation.dto.ReservationDtos.WaitlistResponse;
+import com.example.backend.hotel_reservation.repository.WaitlistEntryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 객실·숙박 기간 대기열
+ * - 재고부족으로 hold 실패 시 join 으로 등록 (같은 사용자·객실·기간은 1건) → 재시도 폭주 대신 대기
+ * - cancel / expire / 만료 스윕으로 재고가 풀리면 released(roomId) → 커밋 후 전용 스레드가 그 객실 대기를 id 순으로 hold 시도
+ *   (대기 행 FOR UPDATE SKIP LOCKED 선점 + hold 를 한 트랜잭션으로, 재고부족이면 롤백되고 계속 대기)
+ * - 승격/만료는 SSE(waitlist-promoted / waitlist-expired) 로 알림
+ * - 승격 hold 는 재고를 즉시 잡아 두므로 일반 hold 와는 커밋 직후 경합만 남음
+ */
+@Slf4j
+@Service
+public class WaitlistService {
+
+    private static final long STOP = Long.MIN_VALUE;
+
+    private final WaitlistEntryRepository repo;
+    private final WaitlistNotifier notifier;
+    private final TransactionTemplate tx;
+    private final Duration ttl;
+    private final int holdSeconds;
+    private final int batch;
+
+    @Autowired
+    @Lazy
+    private ReservationService reservationService;
+
+    // 승격 대기 객실 (같은 객실 중복 요청은 한 번만)
+    private final BlockingQueue<Long> queue = new LinkedBlockingQueue<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private volatile Thread worker;
+
+    public WaitlistService(WaitlistEntryRepository repo,
+                           WaitlistNotifier notifier,
+                           PlatformTransactionManager txManager,
+                           @Value("${reservation.waitlist.ttl-hours:24}") long ttlHours,
+                           @Value("${reservation.waitlist.hold-seconds:600}") int holdSeconds,
+                           @Value("${reservation.waitlist.batch:50}") int batch) {
+        this.repo = repo;
+        this.notifier = notifier;
+        this.tx = new TransactionTemplate(txManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.holdSeconds = holdSeconds;
+        this.batch = batch;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread t = new Thread(this::run, "waitlist-promoter");
+        t.setDaemon(true);
+        worker = t;
+        t.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker = null;
+        queue.offer(STOP);
+    }
+
+    public WaitlistResponse join(HoldRequest req) {
+        if (req.getUserId() == null) throw new IllegalArgumentException("userId is required (from JWT)");
+        if (req.getRoomId() == null) throw new IllegalArgumentException("roomId is required");
+        if (req.getQty() == null || req.getQty() < 1) throw new IllegalArgumentException("qty must be >= 1");
+        LocalDate ci = LocalDate.parse(req.getCheckIn());
+        LocalDate co = LocalDate.parse(req.getCheckOut());
+        if (!ci.isBefore(co)) throw new IllegalArgumentException("checkOut must be after checkIn");
+        if (ci.isBefore(LocalDate.now())) throw new IllegalArgumentException("지난 날짜는 대기할 수 없습니다.");
+
+        WaitlistEntry entry = tx.execute(s -> repo
+                .findFirstByUserIdAndRoomIdAndCheckInAndCheckOutAndStatus(
+                        req.getUserId(), req.getRoomId(), ci, co, WaitlistEntry.Status.WAITING)
+                .orElseGet(() -> {
+                    Instant now = Instant.now();
+                    Instant checkInStart = ci.atStartOfDay(ZoneOffset.UTC).toInstant();
+                    Instant until = now.plus(ttl);
+                    return repo.save(WaitlistEntry.builder()
+                            .userId(req.getUserId())
+                            .roomId(req.getRoomId())
+                            .checkIn(ci)
+                            .checkOut(co)
+                            .qty(req.getQty())
+                            .numAdult(Optional.ofNullable(req.getAdults()).orElse(0))
+                            .numKid(Optional.ofNullable(req.getChildren()).orElse(0))
+                            .status(WaitlistEntry.Status.WAITING)
+                            .createdAt(now)
+                            .expiresAt(until.isBefore(checkInStart) ? until : checkInStart)
+                            .build());
+                }));
+
+        log.info("[WAITLIST] join userId={} entryId={} room={} {}~{} qty={}",
+                entry.getUserId(), entry.getId(), entry.getRoomId(), ci, co.minusDays(1), entry.getQty());
+        // 등록 사이에 풀린 재고가 있을 수 있으므로 바로 한 번 시도
+        released(entry.getRoomId());
+        return toResponse(entry);
+    }
+
+    public List<WaitlistResponse> listMine(Long userId) {
+        return repo.findByUserIdOrderByIdDesc(userId).stream().map(this::toResponse).toList();
+    }
+
+    public void cancel(Long userId, Long entryId) {
+        tx.executeWithoutResult(s -> {
+            WaitlistEntry e = repo.findById(entryId)
+                    .orElseThrow(() -> new NoSuchElementException("대기 없음"));
+            if (!e.getUserId().equals(userId)) throw new AccessDeniedException("본인 대기만 취소할 수 있습니다.");
+            if (e.getStatus() != WaitlistEntry.Status.WAITING) return;
+            e.setStatus(WaitlistEntry.Status.CANCELLED);
+            repo.save(e);
+        });
+    }
+
+    /**
+     * 객실 재고가 풀렸음을 알림. 트랜잭션 안이면 커밋 후에 승격 시도
+     */
+    public void released(Long roomId) {
+        if (roomId == null) return;
+        Runnable enqueue = () -> {
+            if (queued.add(roomId)) queue.offer(roomId);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue.run();
+            }
+        });
+    }
+
+    // 다른 노드/직접 수정으로 풀린 재고 보정 + 대기 만료
+    @Scheduled(fixedDelay = 60_000)
+    public void sweep() {
+        List<WaitlistEntry> expired = tx.execute(s -> {
+            List<WaitlistEntry> due = repo.findTop500ByStatusAndExpiresAtBefore(WaitlistEntry.Status.WAITING, Instant.now());
+            due.forEach(e -> e.setStatus(WaitlistEntry.Status.EXPIRED));
+            return repo.saveAll(due);
+        });
+        if (expired != null) {
+            for (WaitlistEntry e : expired) notifier.send(e.getUserId(), "waitlist-expired", toResponse(e));
+        }
+        for (Long roomId : repo.findRoomIdsByStatus(WaitlistEntry.Status.WAITING)) released(roomId);
+    }
+
+    private void run() {
+        while (worker != null) {
+            Long roomId;
+            try {
+                roomId = queue.take();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (roomId == STOP) return;
+            queued.remove(roomId);
+            try {
+                promote(roomId);
+            } catch (Exception ex) {
+                log.warn("[WAITLIST] room={} promotion failed: {}", roomId, ex.getMessage());
+            }
+        }
+    }
+
+    // 대기 id 순으로 hold 시도, 못 잡은 대기는 그대로 두고 다음 대기로 (짧은 기간 요청이 먼저 들어갈 수 있음)
+    private void promote(Long roomId) {
+        List<Long> ids = repo.findIdsByRoom(roomId, WaitlistEntry.Status.WAITING, Instant.now(), PageRequest.of(0, batch));
+        int promoted = 0;
+        for (Long id : ids) {
+            WaitlistEntry entry;
+            try {
+                entry = tx.execute(s -> promoteOne(id));
+            } catch (IllegalStateException e) {
+                continue;   // 재고부족 → 계속 대기
+            } catch (RuntimeException e) {
+                log.warn("[WAITLIST] entryId={} promotion failed: {}", id, e.getMessage());
+                continue;
+            }
+            if (entry == null) continue;
+            promoted++;
+            notifier.send(entry.getUserId(), "waitlist-promoted", toResponse(entry));
+        }
+        if (promoted > 0) log.info("[WAITLIST] room={} promoted={} of {}", roomId, promoted, ids.size());
+    }
+
+    private WaitlistEntry promoteOne(Long id) {
+        WaitlistEntry e = repo.claimWaiting(id).orElse(null);
+        if (e == null || !e.getExpiresAt().isAfter(Instant.now())) return null;
+
+        HoldResponse hold = reservationService.hold(new HoldRequest(e.getUserId(), e.getRoomId(), e.getQty(),
+                e.getCheckIn().toString(), e.getCheckOut().toString(), e.getNumAdult(), e.getNumKid(), holdSeconds));
+        e.setStatus(WaitlistEntry.Status.PROMOTED);
+        e.setReservationId(hold.getReservationId());
+        e.setPromotedAt(Instant.now());
+        return repo.save(e);
+    }
+
+    private WaitlistResponse toResponse(WaitlistEntry e) {
+        Long position = e.getStatus() == WaitlistEntry.Status.WAITING
+                ? repo.countByRoomIdAndStatusAndIdLessThan(e.getRoomId(), WaitlistEntry.Status.WAITING, e.getId())
+                : null;
+        return WaitlistResponse.builder()
+                .entryId(e.getId())
+                .roomId(e.getRoomId())
+                .checkIn(e.getCheckIn())
+                .checkOut(e.getCheckOut())
+                .qty(e.getQty())
+                .status(e.getStatus().name())
+                .position(position)
+                .reservationId(e.getReservationId())
+                .expiresAt(e.getExpiresAt())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.backend.hotel_search.controller;
 
 import com.example.backend.hotel_search.dto.HotelProjectionOnly;
+import com.example.backend.hotel_search.dto.HotelSearchSlice;
 import com.example.backend.hotel_search.service.HotelSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -28,9 +29,30 @@ public class HotelSearchController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
-        String keyword = (q != null && !q.isBlank())
+        return service.search(keyword(q, destination), checkIn, checkOut, rooms, adults, children, minPrice, maxPrice, page, size);
+    }
+
+    // 커서 모드(무한 스크롤): cursor 파라미터가 있으면 이쪽으로 매핑, 첫 페이지는 cursor= (빈 값)
+    @GetMapping(value = "/hotels", params = "cursor")
+    public HotelSearchSlice searchByCursor(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) String checkIn,
+            @RequestParam(required = false) String checkOut,
+            @RequestParam(required = false) Integer rooms,
+            @RequestParam(required = false) Integer adults,
+            @RequestParam(required = false) Integer children,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return service.searchSlice(keyword(q, destination), checkIn, checkOut, rooms, adults, children, minPrice, maxPrice, cursor, size);
+    }
+
+    private static String keyword(String q, String destination) {
+        return (q != null && !q.isBlank())
                 ? q
                 : (destination != null && !destination.isBlank() ? destination : null);
-        return service.search(keyword, checkIn, checkOut, rooms, adults, children, minPrice, maxPrice, page, size);
     }
 }
@@ -0,0 +1,37 @@
+package com.example.backend.hotel_search.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 호텔별 최저/최고가 읽기 모델 (Room_Price_Policy 집계)
+ * - bucketDate 가 있으면 그 날짜를 포함하는 정책들의 min/max
+ * - bucketDate 가 null 이면 날짜 조건 없는 검색용 전체 기간 min/max
+ */
+@Entity
+@Table(name = "hotel_price_summary",
+       uniqueConstraints = @UniqueConstraint(name = "uq_hotel_bucket", columnNames = {"hotel_id", "bucket_date"}),
+       indexes = @Index(name = "idx_bucket_hotel", columnList = "bucket_date,hotel_id"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class HotelPriceSummary {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    @Column(name = "min_price", nullable = false)
+    private Integer minPrice;
+
+    @Column(name = "max_price", nullable = false)
+    private Integer maxPrice;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,9 @@
+package com.example.backend.hotel_search.dto;
+
+// 키워드 인덱스 적재용 최소 컬럼
+public interface HotelKeywordRow {
+    Long getId();
+    String getName();
+    String getAddress();
+    String getCountry();
+}
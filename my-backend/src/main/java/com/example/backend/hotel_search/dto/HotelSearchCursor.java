@@ -0,0 +1,36 @@
+package com.example.backend.hotel_search.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 검색 정렬 키 (lowestPrice IS NULL, lowestPrice ASC, id DESC) 의 마지막 위치.
+ * 클라이언트에는 base64url 문자열로만 노출한다.
+ */
+public record HotelSearchCursor(Integer lowestPrice, Long id) {
+
+    private static final String VERSION = "v1";
+
+    public static HotelSearchCursor of(HotelProjectionOnly last) {
+        return new HotelSearchCursor(last.getLowestPrice(), last.getId());
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + (lowestPrice == null ? "" : lowestPrice) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 빈 문자열/null → 첫 페이지
+    public static HotelSearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) throw new IllegalArgumentException();
+            Integer price = parts[1].isEmpty() ? null : Integer.valueOf(parts[1]);
+            return new HotelSearchCursor(price, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.domain.HotelPriceSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * hotel_price_summary JDBC 배치 쓰기 (JPA IDENTITY 는 insert 배치가 안 되므로 분리)
+ */
+@Repository
+@RequiredArgsConstructor
+public class HotelPriceSummaryBatchRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * 요약 행 일괄 생성 (호출 전에 같은 호텔 행은 지워 둘 것)
+     * @return 생성된 행 수
+     */
+    public int insertAll(List<HotelPriceSummary> rows) {
+        if (rows.isEmpty()) return 0;
+
+        int[][] counts = jdbc.batchUpdate(
+                "INSERT INTO hotel_price_summary (hotel_id, bucket_date, min_price, max_price, updated_at) VALUES (?, ?, ?, ?, ?)",
+                rows,
+                BATCH_SIZE,
+                (ps, s) -> {
+                    ps.setLong(1, s.getHotelId());
+                    if (s.getBucketDate() != null) ps.setDate(2, Date.valueOf(s.getBucketDate()));
+                    else ps.setNull(2, Types.DATE);
+                    ps.setInt(3, s.getMinPrice());
+                    ps.setInt(4, s.getMaxPrice());
+                    ps.setTimestamp(5, Timestamp.from(s.getUpdatedAt()));
+                });
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int c : batch) if (c > 0) inserted += c;
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.domain.HotelPriceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface HotelPriceSummaryRepository extends JpaRepository<HotelPriceSummary, Long> {
+
+    @Modifying
+    @Query("DELETE FROM HotelPriceSummary s WHERE s.hotelId = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query("DELETE FROM HotelPriceSummary s")
+    int deleteAllRows();
+
+    // [hotelId, startDate, endDate, price]
+    @Query("""
+           SELECT r.hotel.id, p.startDate, p.endDate, p.price
+           FROM RoomPricePolicy p, Room r
+           WHERE r.id = p.roomId AND r.hotel.id = :hotelId
+           """)
+    List<Object[]> findPolicyRowsByHotelId(@Param("hotelId") Long hotelId);
+
+    @Query("""
+           SELECT r.hotel.id, p.startDate, p.endDate, p.price
+           FROM RoomPricePolicy p, Room r
+           WHERE r.id = p.roomId
+           """)
+    List<Object[]> findAllPolicyRows();
+
+    @Query("SELECT DISTINCT r.hotel.id FROM Room r WHERE r.id IN :roomIds")
+    List<Long> findHotelIdsByRoomIds(@Param("roomIds") Collection<Long> roomIds);
+}
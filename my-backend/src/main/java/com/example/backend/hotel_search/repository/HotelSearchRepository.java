@@ -1,6 +1,7 @@
 package com.example.backend.hotel_search.repository;
 
 import com.example.backend.HotelOwner.domain.Hotel; // 네 엔티티 경로 유지
+import com.example.backend.hotel_search.dto.HotelKeywordRow;
 import com.example.backend.hotel_search.dto.HotelProjectionOnly;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,9 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface HotelSearchRepository extends JpaRepository<Hotel, Long> {
 
@@ -18,7 +22,7 @@ public interface HotelSearchRepository extends JpaRepository<Hotel, Long> {
             h.address                             AS city,          -- 표시용: 주소를 city로
             h.country                             AS country,
             CAST(h.star_rating AS DOUBLE)         AS rating,
-            MIN(rpp.price)                        AS lowestPrice,   -- ★ 최저가
+            ps.min_price                          AS lowestPrice,   -- ★ 최저가 (hotel_price_summary)
             ( SELECT hi.url
               FROM hotel_image hi
               WHERE hi.hotel_id = h.id
@@ -26,20 +30,25 @@ public interface HotelSearchRepository extends JpaRepository<Hotel, Long> {
               LIMIT 1
             )                                     AS thumbnailUrl
         FROM `Hotel` h
-        LEFT JOIN `Room` r
-               ON r.hotel_id = h.id
-        LEFT JOIN `Room_Price_Policy` rpp
-               ON rpp.room_id = r.id
-              AND (
-                    :checkIn IS NULL OR :checkOut IS NULL
-                    OR ( rpp.start_date <= DATE(:checkOut) AND rpp.end_date >= DATE(:checkIn) )
-                  )
+        -- 날짜 미지정: 전체 기간 행(bucket_date NULL) / 지정: 해당 날짜 버킷들의 min/max
+        LEFT JOIN (
+              SELECT s.hotel_id, MIN(s.min_price) AS min_price, MAX(s.max_price) AS max_price
+              FROM hotel_price_summary s
+              WHERE ( (:checkIn IS NULL OR :checkOut IS NULL) AND s.bucket_date IS NULL )
+                 OR ( :checkIn IS NOT NULL AND :checkOut IS NOT NULL
+                      AND s.bucket_date BETWEEN DATE(:checkIn) AND DATE(:checkOut) )
+              GROUP BY s.hotel_id
+        ) ps ON ps.hotel_id = h.id
         WHERE
             ( :q IS NULL OR :q = '' OR
               h.name    LIKE CONCAT('%', :q, '%') OR
               h.address LIKE CONCAT('%', :q, '%') OR
               h.country LIKE CONCAT('%', :q, '%')
             )
+            -- 키워드 역색인으로 미리 좁힌 후보 (색인 미사용 시 :useIds = false)
+            AND ( :useIds = FALSE OR h.id IN (:ids) )
+            -- 재고 색인 기준 매진 호텔 제외 (날짜 미지정/색인 미사용 시 :useExcl = false)
+            AND ( :useExcl = FALSE OR h.id NOT IN (:excl) )
             -- 인원: adults+children 총합 기준
             AND (
               (:adults IS NULL AND :children IS NULL)
@@ -51,55 +60,31 @@ public interface HotelSearchRepository extends JpaRepository<Hotel, Long> {
                      AND rx.capacity_min <= GREATEST(COALESCE(:adults,0) + COALESCE(:children,0), 1)
               )
             )
-            -- 가격 하한
-            AND (
-              :minPrice IS NULL
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room_Price_Policy` px
-                   JOIN `Room` r2 ON r2.id = px.room_id
-                   WHERE r2.hotel_id = h.id
-                     AND (
-                          :checkIn IS NULL OR :checkOut IS NULL
-                          OR ( px.start_date <= DATE(:checkOut) AND px.end_date >= DATE(:checkIn) )
-                     )
-                     AND px.price >= :minPrice
-              )
-            )
-            -- 가격 상한
-            AND (
-              :maxPrice IS NULL
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room_Price_Policy` py
-                   JOIN `Room` r3 ON r3.id = py.room_id
-                   WHERE r3.hotel_id = h.id
-                     AND (
-                          :checkIn IS NULL OR :checkOut IS NULL
-                          OR ( py.start_date <= DATE(:checkOut) AND py.end_date >= DATE(:checkIn) )
-                     )
-                     AND py.price <= :maxPrice
-              )
-            )
-        GROUP BY h.id, h.name, h.address, h.country, h.star_rating
-        ORDER BY (MIN(rpp.price) IS NULL), MIN(rpp.price) ASC, h.id DESC
+            -- 가격 하한: 기간 내 어떤 정책가든 :minPrice 이상이면 통과
+            AND ( :minPrice IS NULL OR ps.max_price >= :minPrice )
+            -- 가격 상한: 기간 내 어떤 정책가든 :maxPrice 이하이면 통과
+            AND ( :maxPrice IS NULL OR ps.min_price <= :maxPrice )
+        ORDER BY (ps.min_price IS NULL), ps.min_price ASC, h.id DESC
         """,
         countQuery = """
-        SELECT COUNT(DISTINCT h.id)
+        SELECT COUNT(*)
         FROM `Hotel` h
-        LEFT JOIN `Room` r ON r.hotel_id = h.id
-        LEFT JOIN `Room_Price_Policy` rpp
-               ON rpp.room_id = r.id
-              AND (
-                    :checkIn IS NULL OR :checkOut IS NULL
-                    OR ( rpp.start_date <= DATE(:checkOut) AND rpp.end_date >= DATE(:checkIn) )
-                  )
+        LEFT JOIN (
+              SELECT s.hotel_id, MIN(s.min_price) AS min_price, MAX(s.max_price) AS max_price
+              FROM hotel_price_summary s
+              WHERE ( (:checkIn IS NULL OR :checkOut IS NULL) AND s.bucket_date IS NULL )
+                 OR ( :checkIn IS NOT NULL AND :checkOut IS NOT NULL
+                      AND s.bucket_date BETWEEN DATE(:checkIn) AND DATE(:checkOut) )
+              GROUP BY s.hotel_id
+        ) ps ON ps.hotel_id = h.id
         WHERE
             ( :q IS NULL OR :q = '' OR
               h.name    LIKE CONCAT('%', :q, '%') OR
               h.address LIKE CONCAT('%', :q, '%') OR
               h.country LIKE CONCAT('%', :q, '%')
             )
+            AND ( :useIds = FALSE OR h.id IN (:ids) )
+            AND ( :useExcl = FALSE OR h.id NOT IN (:excl) )
             AND (
               (:adults IS NULL AND :children IS NULL)
               OR EXISTS (
@@ -110,44 +95,106 @@ public interface HotelSearchRepository extends JpaRepository<Hotel, Long> {
                      AND rx.capacity_min <= GREATEST(COALESCE(:adults,0) + COALESCE(:children,0), 1)
               )
             )
+            AND ( :minPrice IS NULL OR ps.max_price >= :minPrice )
+            AND ( :maxPrice IS NULL OR ps.min_price <= :maxPrice )
+        """,
+        nativeQuery = true)
+    Page<HotelProjectionOnly> search(
+            @Param("q") String q,
+            @Param("useIds") boolean useIds,
+            @Param("ids") Collection<Long> ids,   // useIds=false 이면 더미 값
+            @Param("useExcl") boolean useExcl,
+            @Param("excl") Collection<Long> excl, // useExcl=false 이면 더미 값
+            @Param("checkIn") String checkIn,     // 'YYYY-MM-DD' 권장
+            @Param("checkOut") String checkOut,   // 'YYYY-MM-DD' 권장
+            @Param("minPrice") Integer minPrice,
+            @Param("maxPrice") Integer maxPrice,
+            @Param("adults") Integer adults,
+            @Param("children") Integer children,
+            Pageable pageable
+    );
+
+    /**
+     * 커서(keyset) 모드: search 와 같은 필터/정렬, OFFSET·countQuery 없이 커서 이후 :limit 건
+     * - 정렬 (min_price IS NULL), min_price ASC, id DESC 기준으로 (cNull, cLow, cId) 다음 행부터
+     */
+    @Query(value = """
+        SELECT
+            h.id                                  AS id,
+            h.name                                AS name,
+            h.address                             AS city,
+            h.country                             AS country,
+            CAST(h.star_rating AS DOUBLE)         AS rating,
+            ps.min_price                          AS lowestPrice,
+            ( SELECT hi.url
+              FROM hotel_image hi
+              WHERE hi.hotel_id = h.id
+              ORDER BY hi.is_cover DESC, hi.sort_no ASC
+              LIMIT 1
+            )                                     AS thumbnailUrl
+        FROM `Hotel` h
+        LEFT JOIN (
+              SELECT s.hotel_id, MIN(s.min_price) AS min_price, MAX(s.max_price) AS max_price
+              FROM hotel_price_summary s
+              WHERE ( (:checkIn IS NULL OR :checkOut IS NULL) AND s.bucket_date IS NULL )
+                 OR ( :checkIn IS NOT NULL AND :checkOut IS NOT NULL
+                      AND s.bucket_date BETWEEN DATE(:checkIn) AND DATE(:checkOut) )
+              GROUP BY s.hotel_id
+        ) ps ON ps.hotel_id = h.id
+        WHERE
+            ( :q IS NULL OR :q = '' OR
+              h.name    LIKE CONCAT('%', :q, '%') OR
+              h.address LIKE CONCAT('%', :q, '%') OR
+              h.country LIKE CONCAT('%', :q, '%')
+            )
+            AND ( :useIds = FALSE OR h.id IN (:ids) )
+            AND ( :useExcl = FALSE OR h.id NOT IN (:excl) )
             AND (
-              :minPrice IS NULL
+              (:adults IS NULL AND :children IS NULL)
               OR EXISTS (
                    SELECT 1
-                   FROM `Room_Price_Policy` px
-                   JOIN `Room` r2 ON r2.id = px.room_id
-                   WHERE r2.hotel_id = h.id
-                     AND (
-                          :checkIn IS NULL OR :checkOut IS NULL
-                          OR ( px.start_date <= DATE(:checkOut) AND px.end_date >= DATE(:checkIn) )
-                     )
-                     AND px.price >= :minPrice
+                   FROM `Room` rx
+                   WHERE rx.hotel_id = h.id
+                     AND rx.capacity_max >= COALESCE(:adults,0) + COALESCE(:children,0)
+                     AND rx.capacity_min <= GREATEST(COALESCE(:adults,0) + COALESCE(:children,0), 1)
               )
             )
+            AND ( :minPrice IS NULL OR ps.max_price >= :minPrice )
+            AND ( :maxPrice IS NULL OR ps.min_price <= :maxPrice )
+            -- 커서 이후: 가격 있는 구간 → 가격 없는 구간 순
             AND (
-              :maxPrice IS NULL
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room_Price_Policy` py
-                   JOIN `Room` r3 ON r3.id = py.room_id
-                   WHERE r3.hotel_id = h.id
-                     AND (
-                          :checkIn IS NULL OR :checkOut IS NULL
-                          OR ( py.start_date <= DATE(:checkOut) AND py.end_date >= DATE(:checkIn) )
-                     )
-                     AND py.price <= :maxPrice
-              )
+              :hasCursor = FALSE
+              OR ( :cNull = FALSE AND (
+                     ps.min_price IS NULL
+                     OR ps.min_price > :cLow
+                     OR ( ps.min_price = :cLow AND h.id < :cId )
+                 ) )
+              OR ( :cNull = TRUE AND ps.min_price IS NULL AND h.id < :cId )
             )
+        ORDER BY (ps.min_price IS NULL), ps.min_price ASC, h.id DESC
+        LIMIT :limit
         """,
         nativeQuery = true)
-    Page<HotelProjectionOnly> search(
+    List<HotelProjectionOnly> searchAfter(
             @Param("q") String q,
-            @Param("checkIn") String checkIn,     // 'YYYY-MM-DD' 권장
-            @Param("checkOut") String checkOut,   // 'YYYY-MM-DD' 권장
+            @Param("useIds") boolean useIds,
+            @Param("ids") Collection<Long> ids,
+            @Param("useExcl") boolean useExcl,
+            @Param("excl") Collection<Long> excl,
+            @Param("checkIn") String checkIn,
+            @Param("checkOut") String checkOut,
             @Param("minPrice") Integer minPrice,
             @Param("maxPrice") Integer maxPrice,
             @Param("adults") Integer adults,
             @Param("children") Integer children,
-            Pageable pageable
+            @Param("hasCursor") boolean hasCursor,
+            @Param("cNull") boolean cNull,
+            @Param("cLow") Integer cLow,
+            @Param("cId") Long cId,
+            @Param("limit") int limit
     );
+
+    // 키워드 역색인 적재용 (HotelKeywordIndex)
+    @Query("SELECT h.id AS id, h.name AS name, h.address AS address, h.country AS country FROM Hotel h")
+    List<HotelKeywordRow> findAllKeywordRows();
 }
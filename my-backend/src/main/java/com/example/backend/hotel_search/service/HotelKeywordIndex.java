@@ -0,0 +1,158 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.dto.HotelKeywordRow;
+import com.example.backend.hotel_search.repository.HotelSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 호텔 name/address/country 에 대한 n-gram 역색인 (JVM 메모리)
+ * - 1-gram, 2-gram 을 색인하고, 후보를 찾은 뒤 contains 로 재검증 → 기존 LIKE '%q%' 와 같은 결과
+ * - Hotel 저장/삭제가 커밋되면 HotelPriceChangeListener 가 upsert/remove, DB 직접 수정분 대비로 주기적 전체 재색인
+ * - 후보가 max-candidates 를 넘는 흔한 키워드는 색인 대신 SQL LIKE 로 (거대한 IN 목록 방지)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotelKeywordIndex {
+
+    private final HotelSearchRepository repo;
+
+    // gram → hotelId 집합 (재색인 시 통째로 교체)
+    private volatile Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    // hotelId → 정규화된 검색 대상 문자열 (재검증/삭제용)
+    private volatile Map<Long, String[]> docs = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    @Value("${hotel.search.keyword.max-candidates:1000}")
+    private int maxCandidates;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    // 5분마다 전체 재색인 (다른 경로로 바뀐 호텔 보정)
+    @Scheduled(fixedDelay = 300_000, initialDelay = 300_000)
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        try {
+            List<HotelKeywordRow> rows = repo.findAllKeywordRows();
+            Map<String, Set<Long>> newPostings = new ConcurrentHashMap<>();
+            Map<Long, String[]> newDocs = new ConcurrentHashMap<>();
+            for (HotelKeywordRow row : rows) {
+                add(newPostings, newDocs, row.getId(), row.getName(), row.getAddress(), row.getCountry());
+            }
+            postings = newPostings;
+            docs = newDocs;
+            ready = true;
+            log.info("[SEARCH-INDEX] rebuilt hotels={} grams={}", docs.size(), postings.size());
+        } catch (Exception e) {
+            // 색인 실패 시 검색은 SQL LIKE 로 폴백
+            ready = false;
+            log.warn("[SEARCH-INDEX] rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void upsert(Long hotelId, String name, String address, String country) {
+        if (hotelId == null) return;
+        remove(hotelId);
+        add(postings, docs, hotelId, name, address, country);
+    }
+
+    public synchronized void remove(Long hotelId) {
+        String[] old = docs.remove(hotelId);
+        if (old == null) return;
+        for (String field : old) {
+            for (String g : grams(field)) {
+                Set<Long> ids = postings.get(g);
+                if (ids == null) continue;
+                ids.remove(hotelId);
+                if (ids.isEmpty()) postings.remove(g);
+            }
+        }
+    }
+
+    /**
+     * q 에 매칭되는 hotelId 집합. 색인이 준비되지 않았거나 후보가 max-candidates 를 넘으면 empty → 호출부에서 SQL LIKE 사용
+     */
+    public Optional<Set<Long>> lookup(String q) {
+        if (!ready || q == null || q.isEmpty()) return Optional.empty();
+        String nq = normalize(q);
+        Map<String, Set<Long>> postings = this.postings;
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String g : queryGrams(nq)) {
+            Set<Long> ids = postings.get(g);
+            if (ids == null) return Optional.of(Set.of());
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        // 한 글자 검색어는 목록 자체가 결과 → 한도를 넘으면 훑기 전에 포기
+        if (lists.get(0).size() > maxCandidates && lists.size() == 1) return Optional.empty();
+
+        Set<Long> result = new HashSet<>();
+        for (Long id : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) inAll = lists.get(i).contains(id);
+            if (inAll && matches(id, nq)) {
+                result.add(id);
+                if (result.size() > maxCandidates) return Optional.empty();
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private static void add(Map<String, Set<Long>> postings, Map<Long, String[]> docs,
+                            Long hotelId, String name, String address, String country) {
+        String[] fields = { normalize(name), normalize(address), normalize(country) };
+        docs.put(hotelId, fields);
+        for (String field : fields) {
+            for (String g : grams(field)) {
+                postings.computeIfAbsent(g, k -> ConcurrentHashMap.newKeySet()).add(hotelId);
+            }
+        }
+    }
+
+    // n-gram 은 후보 축소용, 최종 판정은 부분 문자열 비교
+    private boolean matches(Long hotelId, String nq) {
+        String[] fields = docs.get(hotelId);
+        if (fields == null) return false;
+        for (String f : fields) {
+            if (f.contains(nq)) return true;
+        }
+        return false;
+    }
+
+    private static Set<String> grams(String s) {
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i < s.length(); i++) {
+            out.add(s.substring(i, i + 1));
+            if (i + 2 <= s.length()) out.add(s.substring(i, i + 2));
+        }
+        return out;
+    }
+
+    private static Set<String> queryGrams(String q) {
+        if (q.length() == 1) return Set.of(q);
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i + 2 <= q.length(); i++) out.add(q.substring(i, i + 2));
+        return out;
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.HotelOwner.domain.Hotel;
+import com.example.backend.HotelOwner.domain.Room;
+import com.example.backend.fe_hotel_detail.domain.RoomPricePolicy;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hotel / Room / RoomPricePolicy 엔티티 리스너 → hotel_price_summary 재계산(+검색 캐시 무효화) 대상 표시만 한다.
+ * 새 객실은 재고 색인에도 등록, 호텔 저장/삭제는 키워드 색인에도 반영 (어느 경로로 바뀌든 여기서 한 번에).
+ * - 리스너는 flush 중(커밋 전)에 불리므로 표시는 커밋 후에 → 재계산이 커밋 안 된 변경 전 행을 읽고 끝나는 일이 없게
+ * (EntityManagerFactory 생성 중 주입되므로 서비스는 @Lazy)
+ */
+@Component
+public class HotelPriceChangeListener {
+
+    @Autowired
+    @Lazy
+    private HotelPriceSummaryService summaryService;
+
+    @Autowired
+    @Lazy
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    @Lazy
+    private HotelKeywordIndex keywordIndex;
+
+    @PostPersist
+    public void onCreate(Object entity) {
+        if (entity instanceof Room r && r.getHotel() != null) {
+            Long roomId = r.getId();
+            Long hotelId = r.getHotel().getId();
+            afterCommit(() -> availabilityIndex.registerRoom(roomId, hotelId));
+        }
+        onChange(entity);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Hotel h) {
+            Long hotelId = h.getId();
+            afterCommit(() -> {
+                keywordIndex.remove(hotelId);
+                summaryService.markHotelDirty(hotelId);
+            });
+            return;
+        }
+        onChange(entity);
+    }
+
+    @PostUpdate
+    public void onChange(Object entity) {
+        if (entity instanceof RoomPricePolicy p) {
+            Long roomId = p.getRoomId();
+            afterCommit(() -> summaryService.markRoomDirty(roomId));
+        } else if (entity instanceof Hotel h) {
+            Long hotelId = h.getId();
+            String name = h.getName(), address = h.getAddress(), country = h.getCountry();
+            afterCommit(() -> {
+                keywordIndex.upsert(hotelId, name, address, country);
+                summaryService.markHotelDirty(hotelId);
+            });
+        } else if (entity instanceof Room r && r.getHotel() != null) {
+            Long hotelId = r.getHotel().getId();
+            afterCommit(() -> summaryService.markHotelDirty(hotelId));
+        }
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
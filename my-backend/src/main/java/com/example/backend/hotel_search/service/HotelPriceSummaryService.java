@@ -0,0 +1,165 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.domain.HotelPriceSummary;
+import com.example.backend.hotel_search.repository.HotelPriceSummaryBatchRepository;
+import com.example.backend.hotel_search.repository.HotelPriceSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * hotel_price_summary 유지 관리
+ * - Room / Room_Price_Policy 변경이 커밋되면 해당 호텔을 dirty 로 표시 → 2초 주기로 호텔 단위 재계산 (롤백되면 다시 dirty)
+ * - 기동 시/매일 새벽 전체 재계산 (DB 직접 수정분 보정), 행 쓰기는 JDBC 배치
+ * - 재계산 커밋 후 검색 결과 캐시 무효화
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotelPriceSummaryService {
+
+    private final HotelPriceSummaryRepository repo;
+    private final HotelPriceSummaryBatchRepository batchRepo;
+    private final HotelSearchCache searchCache;
+
+    private final Set<Long> dirtyHotels = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    public void markHotelDirty(Long hotelId) {
+        if (hotelId != null) dirtyHotels.add(hotelId);
+    }
+
+    public void markRoomDirty(Long roomId) {
+        if (roomId != null) dirtyRooms.add(roomId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void onReady() {
+        rebuildAll();
+    }
+
+    @Scheduled(cron = "0 30 4 * * *")
+    @Transactional
+    public void nightlyRebuild() {
+        rebuildAll();
+    }
+
+    @Scheduled(fixedDelay = 2_000)
+    @Transactional
+    public void refreshDirty() {
+        if (dirtyHotels.isEmpty() && dirtyRooms.isEmpty()) return;
+
+        Set<Long> hotels = drain(dirtyHotels);
+        Set<Long> rooms = drain(dirtyRooms);
+        restoreOnRollback(Set.copyOf(hotels), Set.copyOf(rooms));
+        if (!rooms.isEmpty()) hotels.addAll(repo.findHotelIdsByRoomIds(rooms));
+
+        for (Long hotelId : hotels) {
+            refreshHotel(hotelId);
+        }
+        afterCommit(() -> searchCache.invalidateHotels(hotels));
+        log.info("[PRICE-SUMMARY] refreshed hotels={}", hotels);
+    }
+
+    private void refreshHotel(Long hotelId) {
+        repo.deleteByHotelId(hotelId);
+        batchRepo.insertAll(summarize(hotelId, repo.findPolicyRowsByHotelId(hotelId), Instant.now()));
+    }
+
+    private void rebuildAll() {
+        Map<Long, List<Object[]>> byHotel = new HashMap<>();
+        for (Object[] row : repo.findAllPolicyRows()) {
+            byHotel.computeIfAbsent(((Number) row[0]).longValue(), k -> new ArrayList<>()).add(row);
+        }
+        repo.deleteAllRows();
+        Instant now = Instant.now();
+        List<HotelPriceSummary> all = new ArrayList<>();
+        byHotel.forEach((hotelId, rows) -> all.addAll(summarize(hotelId, rows, now)));
+        batchRepo.insertAll(all);
+        afterCommit(searchCache::clear);
+        log.info("[PRICE-SUMMARY] rebuilt hotels={} rows={}", byHotel.size(), all.size());
+    }
+
+    // 정책 [start, end] 구간의 날짜마다 min/max 를 누적, 전체 기간 행(bucketDate=null) 추가
+    private static List<HotelPriceSummary> summarize(Long hotelId, List<Object[]> rows, Instant now) {
+        if (rows.isEmpty()) return List.of();
+
+        TreeMap<LocalDate, int[]> days = new TreeMap<>();
+        int allMin = Integer.MAX_VALUE, allMax = Integer.MIN_VALUE;
+        for (Object[] row : rows) {
+            LocalDate start = (LocalDate) row[1];
+            LocalDate end = (LocalDate) row[2];
+            int price = ((Number) row[3]).intValue();
+            allMin = Math.min(allMin, price);
+            allMax = Math.max(allMax, price);
+            for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                int[] mm = days.computeIfAbsent(d, k -> new int[]{ Integer.MAX_VALUE, Integer.MIN_VALUE });
+                mm[0] = Math.min(mm[0], price);
+                mm[1] = Math.max(mm[1], price);
+            }
+        }
+
+        List<HotelPriceSummary> out = new ArrayList<>(days.size() + 1);
+        out.add(row(hotelId, null, allMin, allMax, now));
+        days.forEach((d, mm) -> out.add(row(hotelId, d, mm[0], mm[1], now)));
+        return out;
+    }
+
+    private static HotelPriceSummary row(Long hotelId, LocalDate bucket, int min, int max, Instant now) {
+        return HotelPriceSummary.builder()
+                .hotelId(hotelId)
+                .bucketDate(bucket)
+                .minPrice(min)
+                .maxPrice(max)
+                .updatedAt(now)
+                .build();
+    }
+
+    // 재계산이 롤백되면 꺼낸 id 를 다시 dirty 로 (다음 주기에 재시도)
+    private void restoreOnRollback(Set<Long> hotels, Set<Long> rooms) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) return;
+                dirtyHotels.addAll(hotels);
+                dirtyRooms.addAll(rooms);
+                log.warn("[PRICE-SUMMARY] refresh rolled back, re-queued hotels={} rooms={}", hotels, rooms);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private static Set<Long> drain(Set<Long> source) {
+        Set<Long> out = new HashSet<>();
+        for (Iterator<Long> it = source.iterator(); it.hasNext(); ) {
+            out.add(it.next());
+            it.remove();
+        }
+        return out;
+    }
+}
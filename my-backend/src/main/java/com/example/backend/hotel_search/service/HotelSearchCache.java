@@ -0,0 +1,132 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.dto.HotelProjectionOnly;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * /api/hotels 검색 결과 캐시 (TTL + LRU, 최대 엔트리 수 제한)
+ * - 키: 정규화된 검색 파라미터 전체
+ * - 호텔/객실/가격정책 변경 시 그 호텔이 포함된 엔트리 제거
+ *   (변경으로 새로 검색에 걸리게 되는 경우는 TTL 로 보정)
+ * - 무효화마다 세대 번호 증가 → 무효화 전에 시작한 조회 결과는 캐시에 넣지 않음 (변경 전 데이터 재캐시 방지)
+ * - hotel.search.cache.{hits,misses,evictions,size} 지표
+ */
+@Slf4j
+@Component
+public class HotelSearchCache {
+
+    public record Key(String q, String checkIn, String checkOut, Integer rooms,
+                      Integer adults, Integer children, Integer minPrice, Integer maxPrice,
+                      int page, int size) {
+
+        public static Key of(String q, String checkIn, String checkOut, Integer rooms,
+                             Integer adults, Integer children, Integer minPrice, Integer maxPrice,
+                             int page, int size) {
+            return new Key(norm(q), norm(checkIn), norm(checkOut), rooms,
+                    adults, children, minPrice, maxPrice, page, size);
+        }
+
+        private static String norm(String s) {
+            if (s == null || s.isBlank()) return null;
+            return s.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record Entry(Page<HotelProjectionOnly> page, Set<Long> hotelIds, long expiresAt) {}
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // access-order LinkedHashMap = LRU
+    private final LinkedHashMap<Key, Entry> entries;
+    // invalidateHotels/clear 때마다 증가 (this 로 보호)
+    private long generation;
+
+    public HotelSearchCache(@Value("${hotel.search.cache.max-entries:1000}") int maxEntries,
+                            @Value("${hotel.search.cache.ttl-seconds:60}") long ttlSeconds,
+                            MeterRegistry registry) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= HotelSearchCache.this.maxEntries) return false;
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+
+        FunctionCounter.builder("hotel.search.cache.hits", hits, AtomicLong::get).register(registry);
+        FunctionCounter.builder("hotel.search.cache.misses", misses, AtomicLong::get).register(registry);
+        FunctionCounter.builder("hotel.search.cache.evictions", evictions, AtomicLong::get).register(registry);
+        Gauge.builder("hotel.search.cache.size", this, HotelSearchCache::size).register(registry);
+    }
+
+    public Page<HotelProjectionOnly> get(Key key, Supplier<Page<HotelProjectionOnly>> loader) {
+        long now = System.currentTimeMillis();
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+            Entry e = entries.get(key);
+            if (e != null) {
+                if (e.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return e.page;
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+
+        // DB 조회는 락 밖에서 (같은 키 동시 미스는 중복 조회 허용)
+        misses.incrementAndGet();
+        Page<HotelProjectionOnly> page = loader.get();
+
+        Set<Long> ids = new HashSet<>();
+        for (HotelProjectionOnly h : page.getContent()) ids.add(h.getId());
+        synchronized (this) {
+            // 조회 중에 무효화가 있었으면 결과는 돌려주되 캐시하지 않음
+            if (generation == startGeneration) {
+                entries.put(key, new Entry(page, ids, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return page;
+    }
+
+    public synchronized void invalidateHotels(Collection<Long> hotelIds) {
+        if (hotelIds.isEmpty()) return;
+        generation++;
+        int removed = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry e = it.next();
+            if (!Collections.disjoint(e.hotelIds, hotelIds)) {
+                it.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) log.debug("[SEARCH-CACHE] invalidated entries={} hotels={}", removed, hotelIds);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
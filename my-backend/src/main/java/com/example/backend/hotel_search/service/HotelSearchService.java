@@ -1,21 +1,39 @@
 package com.example.backend.hotel_search.service;
 
 import com.example.backend.hotel_search.dto.HotelProjectionOnly;
+import com.example.backend.hotel_search.dto.HotelSearchCursor;
+import com.example.backend.hotel_search.dto.HotelSearchSlice;
 import com.example.backend.hotel_search.repository.HotelSearchRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class HotelSearchService {
     private final HotelSearchRepository repo;
+    private final HotelKeywordIndex keywordIndex;
+    private final HotelSearchCache cache;
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    // IN () 은 문법 오류라 미사용 시에도 더미 값을 바인딩
+    private static final List<Long> NO_IDS = List.of(-1L);
+    // 커서 모드 한 페이지 최대 건수
+    private static final int MAX_SLICE_SIZE = 100;
 
     public Page<HotelProjectionOnly> search(
             String q,
             String checkIn,
             String checkOut,
-            Integer rooms,      // 현재 미사용
+            Integer rooms,      // 날짜 지정 시 모든 박에 rooms 개 이상 남은 객실이 있는 호텔만 (기본 1)
             Integer adults,
             Integer children,
             Integer minPrice,
@@ -23,7 +41,79 @@ public class HotelSearchService {
             int page,
             int size
     ) {
-        Pageable pageable = PageRequest.of(page, size);
-        return repo.search(q, checkIn, checkOut, minPrice, maxPrice, adults, children, pageable);
+        HotelSearchCache.Key key = HotelSearchCache.Key.of(
+                q, checkIn, checkOut, rooms, adults, children, minPrice, maxPrice, page, size);
+        return cache.get(key, () -> {
+            Pageable pageable = PageRequest.of(page, size);
+
+            Keyword kw = resolveKeyword(q);
+            if (kw == null) return Page.empty(pageable);
+
+            Collection<Long> soldOut = soldOutHotels(checkIn, checkOut, rooms);
+            return repo.search(kw.sqlQ(), kw.useIds(), kw.ids(), soldOut != null, soldOut != null ? soldOut : NO_IDS,
+                    checkIn, checkOut, minPrice, maxPrice, adults, children, pageable);
+        });
+    }
+
+    /**
+     * 커서 모드: count 쿼리 없이 size+1 건을 읽어 다음 페이지 존재 여부 판단 (size 는 1~100 으로 보정)
+     */
+    public HotelSearchSlice searchSlice(
+            String q,
+            String checkIn,
+            String checkOut,
+            Integer rooms,      // 날짜 지정 시 모든 박에 rooms 개 이상 남은 객실이 있는 호텔만 (기본 1)
+            Integer adults,
+            Integer children,
+            Integer minPrice,
+            Integer maxPrice,
+            String cursor,
+            int size
+    ) {
+        size = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+        HotelSearchCursor after = HotelSearchCursor.decode(cursor);
+
+        Keyword kw = resolveKeyword(q);
+        if (kw == null) return new HotelSearchSlice(List.of(), size, false, null);
+
+        boolean hasCursor = after != null;
+        boolean cNull = hasCursor && after.lowestPrice() == null;
+        int cLow = hasCursor && after.lowestPrice() != null ? after.lowestPrice() : 0;
+        long cId = hasCursor ? after.id() : 0L;
+
+        Collection<Long> soldOut = soldOutHotels(checkIn, checkOut, rooms);
+        List<HotelProjectionOnly> rows = repo.searchAfter(
+                kw.sqlQ(), kw.useIds(), kw.ids(), soldOut != null, soldOut != null ? soldOut : NO_IDS,
+                checkIn, checkOut, minPrice, maxPrice, adults, children,
+                hasCursor, cNull, cLow, cId, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<HotelProjectionOnly> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String next = hasNext ? HotelSearchCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new HotelSearchSlice(content, size, hasNext, next);
+    }
+
+    // 키워드는 역색인으로 후보 hotelId 를 먼저 구하고, SQL 에는 id 목록만 넘김 (후보 0건이면 null, 후보 과다/색인 미준비면 LIKE)
+    private Keyword resolveKeyword(String q) {
+        Optional<Set<Long>> candidates = keywordIndex.lookup(q);
+        if (candidates.isEmpty()) return new Keyword(q, false, NO_IDS);
+        if (candidates.get().isEmpty()) return null;
+        return new Keyword(null, true, candidates.get());
     }
+
+    // 재고 색인으로 매진 호텔 목록 (날짜 미지정/형식 오류/색인 미준비 시 null → 필터 없음)
+    private Collection<Long> soldOutHotels(String checkIn, String checkOut, Integer rooms) {
+        if (checkIn == null || checkOut == null || checkIn.isBlank() || checkOut.isBlank()) return null;
+        try {
+            LocalDate ci = LocalDate.parse(checkIn.trim());
+            LocalDate co = LocalDate.parse(checkOut.trim());
+            int need = (rooms == null || rooms < 1) ? 1 : rooms;
+            Set<Long> soldOut = availabilityIndex.soldOutHotels(ci, co, need).orElse(null);
+            return (soldOut == null || soldOut.isEmpty()) ? null : soldOut;
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private record Keyword(String sqlQ, boolean useIds, Collection<Long> ids) {}
 }
@@ -0,0 +1,220 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.HotelOwner.repository.RoomRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 객실별·날짜별 잔여 수량 인메모리 색인 (검색의 "예약 가능" 필터용)
+ * - 기동 시/10분마다 Room_Inventory 에서 [오늘, 오늘+horizon-days) 를 전체 적재 (InventoryHorizonJob 과 같은 달력 길이)
+ * - hold/cancel/expire 커밋 후 apply(delta) 로 즉시 반영
+ * - 재고 행이 없는 날은 판매 불가(0)로 간주, delta 도 적용하지 않음. InventoryHorizonJob 이 만든 행은 fill 로 반영
+ * - 재적재 중(DB 읽기 ~ 스냅샷 교체)에 들어온 변경은 쌓아 뒀다가 새 스냅샷에 다시 적용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+
+    private static final int NO_ROW = Integer.MIN_VALUE;
+
+    private final RoomInventoryRepository invRepo;
+    private final RoomRepository roomRepo;
+    private final HotelSearchCache searchCache;
+
+    private record Snapshot(LocalDate base, Map<Long, int[]> avail, Map<Long, Long> roomHotel) {}
+
+    @Value("${reservation.inventory.horizon-days:365}")
+    private int horizonDays;
+
+    private volatile Snapshot snap;
+
+    // 스냅샷 변경과 재적재 중 변경 기록을 묶는 잠금, replay 는 재적재 중에만 non-null
+    private final Object replayLock = new Object();
+    private List<Consumer<Snapshot>> replay;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reload();
+    }
+
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void scheduledReload() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        synchronized (replayLock) {
+            replay = new ArrayList<>();
+        }
+        try {
+            LocalDate base = LocalDate.now();
+            Map<Long, Long> roomHotel = new ConcurrentHashMap<>();
+            for (Object[] row : roomRepo.findAllRoomHotelIds()) {
+                roomHotel.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+            Map<Long, int[]> avail = new ConcurrentHashMap<>();
+            for (Object[] row : invRepo.findAvailabilityRows(base, base.plusDays(horizonDays))) {
+                long roomId = ((Number) row[0]).longValue();
+                int off = (int) ChronoUnit.DAYS.between(base, (LocalDate) row[1]);
+                avail.computeIfAbsent(roomId, k -> newDays())[off] = ((Number) row[2]).intValue();
+            }
+            Snapshot next = new Snapshot(base, avail, roomHotel);
+            int replayed;
+            synchronized (replayLock) {
+                replayed = replay.size();
+                for (Consumer<Snapshot> op : replay) op.accept(next);
+                snap = next;
+                replay = null;
+            }
+            log.info("[AVAIL-INDEX] reloaded rooms={} inventoryRooms={} replayed={}", roomHotel.size(), avail.size(), replayed);
+        } catch (Exception e) {
+            // 적재 실패 시 검색은 재고 필터 없이 동작
+            synchronized (replayLock) {
+                snap = null;
+                replay = null;
+            }
+            log.warn("[AVAIL-INDEX] reload failed: {}", e.getMessage());
+        }
+    }
+
+    public void registerRoom(Long roomId, Long hotelId) {
+        if (roomId == null || hotelId == null) return;
+        mutate(s -> s.roomHotel.put(roomId, hotelId));
+    }
+
+    /**
+     * [from, to) 각 날짜의 잔여 수량에 delta 반영. 트랜잭션 안이면 커밋 후에 적용
+     */
+    public void apply(Long roomId, LocalDate from, LocalDate to, int delta) {
+        afterCommit(() -> applyNow(roomId, from, to, delta));
+    }
+
+    private void applyNow(Long roomId, LocalDate from, LocalDate to, int delta) {
+        Snapshot s;
+        boolean crossedZero;
+        synchronized (replayLock) {
+            if (replay != null) replay.add(next -> applyTo(next, roomId, from, to, delta));
+            s = snap;
+            if (s == null) return;
+            crossedZero = applyTo(s, roomId, from, to, delta);
+        }
+        // 매진/해제 시점에만 해당 호텔이 들어간 캐시 엔트리 제거
+        Long hotelId = s.roomHotel.get(roomId);
+        if (crossedZero && hotelId != null) searchCache.invalidateHotels(List.of(hotelId));
+    }
+
+    // 재고 행이 있는 날짜에만 delta 반영 (행 없는 날에 수량을 만들어 내지 않음)
+    private boolean applyTo(Snapshot s, Long roomId, LocalDate from, LocalDate to, int delta) {
+        int[] days = s.avail.get(roomId);
+        if (days == null) return false;
+        boolean crossedZero = false;
+        synchronized (days) {
+            for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+                int off = offset(s, d);
+                if (off < 0 || days[off] == NO_ROW) continue;
+                int before = days[off];
+                int after = before + delta;
+                days[off] = after;
+                crossedZero |= (before > 0) != (after > 0);
+            }
+        }
+        return crossedZero;
+    }
+
+    /**
+     * 새로 생성된 재고 행 반영: [from, to) 중 행이 없던 날짜만 quantity 로 채움. 트랜잭션 안이면 커밋 후에 적용
+     */
+    public void fill(Long roomId, LocalDate from, LocalDate to, int quantity) {
+        afterCommit(() -> mutate(s -> {
+            int[] days = s.avail.computeIfAbsent(roomId, k -> newDays());
+            synchronized (days) {
+                for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+                    int off = offset(s, d);
+                    if (off >= 0 && days[off] == NO_ROW) days[off] = quantity;
+                }
+            }
+        }));
+    }
+
+    // 현재 스냅샷에 적용, 재적재 중이면 새 스냅샷용으로도 기록
+    private void mutate(Consumer<Snapshot> op) {
+        synchronized (replayLock) {
+            if (replay != null) replay.add(op);
+            Snapshot s = snap;
+            if (s != null) op.accept(s);
+        }
+    }
+
+    /**
+     * [checkIn, checkOut) 모든 날짜에 rooms 개 이상 남은 객실이 하나도 없는 호텔 집합.
+     * 색인 미준비/기간이 색인 범위 밖이면 empty → 재고 필터 미적용
+     */
+    public Optional<Set<Long>> soldOutHotels(LocalDate checkIn, LocalDate checkOut, int rooms) {
+        Snapshot s = snap;
+        if (s == null || checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) return Optional.empty();
+        int from = offset(s, checkIn);
+        int to = (int) ChronoUnit.DAYS.between(s.base, checkOut);
+        if (from < 0 || to > horizonDays) return Optional.empty();
+
+        Set<Long> seen = new HashSet<>();
+        Set<Long> available = new HashSet<>();
+        for (Map.Entry<Long, Long> e : s.roomHotel.entrySet()) {
+            Long hotelId = e.getValue();
+            seen.add(hotelId);
+            if (available.contains(hotelId)) continue;
+            if (roomAvailable(s.avail.get(e.getKey()), from, to, rooms)) available.add(hotelId);
+        }
+        seen.removeAll(available);
+        return Optional.of(seen);
+    }
+
+    private static boolean roomAvailable(int[] days, int from, int to, int rooms) {
+        if (days == null) return false;
+        synchronized (days) {
+            for (int i = from; i < to; i++) {
+                int v = days[i] == NO_ROW ? 0 : days[i];
+                if (v < rooms) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private int offset(Snapshot s, LocalDate d) {
+        long off = ChronoUnit.DAYS.between(s.base, d);
+        return (off < 0 || off >= horizonDays) ? -1 : (int) off;
+    }
+
+    private int[] newDays() {
+        int[] days = new int[horizonDays];
+        Arrays.fill(days, NO_ROW);
+        return days;
+    }
+}
@@ -2,43 +2,84 @@
 package com.example.backend.payment.controller;
 
 import com.example.backend.authlogin.domain.User;
+import com.example.backend.common.idempotency.IdempotencyService;
 import com.example.backend.admin.repository.AdminUserRepository;
 import com.example.backend.hotel_reservation.domain.Reservation;
 import com.example.backend.hotel_reservation.repository.ReservationRepository;
 import com.example.backend.payment.domain.Payment;
+import com.example.backend.payment.domain.PaymentOutbox;
 import com.example.backend.payment.dto.PaymentDTOs.TossPaymentResponse;
+import com.example.backend.payment.dto.PaymentListRow;
+import com.example.backend.payment.dto.PaymentListSlice;
+import com.example.backend.payment.gateway.PaymentGatewayException;
+import com.example.backend.payment.gateway.PaymentGateway;
+import com.example.backend.payment.gateway.PaymentGateway.GatewayResponse;
+import com.example.backend.payment.service.PaymentOutboxService;
+import com.example.backend.payment.service.PaymentService;
+import com.example.backend.payment.repository.PaymentListJdbcRepository;
 import com.example.backend.payment.repository.PaymentRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/payments")
 @CrossOrigin(origins = "http://localhost:5173")
 public class PaymentController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final PaymentRepository repository;
     private final ReservationRepository reservationRepository;
     private final AdminUserRepository userRepository;
-    private final RestTemplate restTemplate;
+    private final IdempotencyService idempotency;
+    private final PaymentGateway gateway;
+    private final PaymentService paymentService;
+    private final PaymentOutboxService outboxService;
+    private final PaymentListJdbcRepository listRepository;
+    private final ObjectMapper objectMapper;
+    private final int listFetchSize;
 
     public PaymentController(
             PaymentRepository repository,
             ReservationRepository reservationRepository,
             AdminUserRepository userRepository,
-            RestTemplate restTemplate
+            IdempotencyService idempotency,
+            PaymentGateway gateway,
+            PaymentService paymentService,
+            PaymentOutboxService outboxService,
+            PaymentListJdbcRepository listRepository,
+            ObjectMapper objectMapper,
+            @Value("${payment.list.fetch-size:500}") int listFetchSize
     ) {
         this.repository = repository;
         this.reservationRepository = reservationRepository;
         this.userRepository = userRepository;
-        this.restTemplate = restTemplate;
+        this.idempotency = idempotency;
+        this.gateway = gateway;
+        this.paymentService = paymentService;
+        this.outboxService = outboxService;
+        this.listRepository = listRepository;
+        this.objectMapper = objectMapper;
+        this.listFetchSize = Math.max(listFetchSize, 1);
     }
 
     private String currentUserEmail() {
@@ -62,15 +103,20 @@ public class PaymentController {
                         .body(Map.of("message", "payment not found")));
     }
 
-    /** 결제 요청 생성 (PENDING) */
-    @Transactional
+    /** 결제 요청 생성 (PENDING) — Idempotency-Key 재시도는 첫 응답 재전송, 처리는 IdempotencyService 트랜잭션 안에서 */
     @PostMapping("/add")
-    public ResponseEntity<?> add(@RequestBody Payment payload) {
+    public ResponseEntity<?> add(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody Payment payload
+    ) {
         String email = currentUserEmail();
         if (email == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "unauthenticated"));
         }
+        return idempotency.execute("payment.add", email, idempotencyKey, payload, () -> addInternal(email, payload));
+    }
 
+    private ResponseEntity<?> addInternal(String email, Payment payload) {
         User user = userRepository.findByEmail(email).orElse(null);
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "user not found"));
@@ -107,142 +153,193 @@ public class PaymentController {
         return ResponseEntity.ok(p);
     }
 
-    /** 결제 승인 + 예약 확정 */
-    @Transactional
+    /**
+     * 결제 승인 + 예약 확정
+     * PG 호출은 트랜잭션 밖에서 비동기로 (Tomcat 스레드 반환), 응답 반영만 PaymentService 트랜잭션에서
+     * 승인 여부가 불명확하면(타임아웃/IO 오류, ALREADY_PROCESSED_PAYMENT) 결제 조회로 실제 상태를 확인해 반영
+     */
     @PostMapping("/confirm")
-    public ResponseEntity<?> confirm(@RequestBody Map<String, Object> body) {
+    public CompletableFuture<ResponseEntity<?>> confirm(@RequestBody Map<String, Object> body) {
         String orderId    = String.valueOf(body.get("orderId"));
         Integer amount    = Integer.valueOf(String.valueOf(body.get("amount")));
         String paymentKey = String.valueOf(body.get("paymentKey"));
 
         Payment pay = repository.findByOrderId(orderId);
         if (pay == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("code", "PAYMENT_NOT_FOUND"));
+            return done(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("code", "PAYMENT_NOT_FOUND")));
         }
         if (!Objects.equals(pay.getAmount(), amount)) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("code", "AMOUNT_MISMATCH"));
+            return done(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("code", "AMOUNT_MISMATCH")));
+        }
+        // 이미 반영된 승인의 재시도 (응답 유실 등) → PG 호출 없이 같은 결과
+        if (pay.getStatus() == Payment.Status.COMPLETED && paymentKey.equals(pay.getPaymentKey())) {
+            return done(ResponseEntity.ok(Map.of(
+                    "paymentId", pay.getId(),
+                    "reservationId", pay.getReservationId(),
+                    "status", "COMPLETED")));
         }
 
         Reservation rv = reservationRepository.findById(pay.getReservationId()).orElse(null);
         if (rv == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("code", "RESERVATION_NOT_FOUND"));
+            return done(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("code", "RESERVATION_NOT_FOUND")));
         }
         if (rv.getStatus() == Reservation.Status.CANCELLED) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("code", "RESERVATION_CANCELLED"));
+            return done(ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("code", "RESERVATION_CANCELLED")));
         }
         if (rv.getStatus() == Reservation.Status.COMPLETED) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("code", "RESERVATION_COMPLETED"));
+            return done(ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("code", "RESERVATION_COMPLETED")));
         }
 
         // 토스 결제 승인
-        pay.setPaymentKey(paymentKey);
-        String url = "https://api.tosspayments.com/v1/payments/confirm";
-        String encryptedKey = "Basic " + Base64.getEncoder()
-                .encodeToString("test_gsk_docs_OaPz8L5KdmQXkzRz3y47BMw6:".getBytes());
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", encryptedKey);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        String jsonBody = String.format(
-                "{\"orderId\":\"%s\",\"amount\":%d,\"paymentKey\":\"%s\"}",
-                pay.getOrderId(), amount, pay.getPaymentKey()
-        );
-
-        ResponseEntity<String> resp = restTemplate.exchange(
-                url, HttpMethod.POST, new HttpEntity<>(jsonBody, headers), String.class
-        );
-
-        if (resp.getStatusCode() == HttpStatus.OK
-                && resp.getBody() != null
-                && resp.getBody().contains("\"status\":\"DONE\"")) {
-
-            // 토스 응답 → 결제수단/영수증 저장
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(resp.getBody());
-
-                String method       = root.path("method").asText(null);
-                String easyProvider = root.path("easyPay").path("provider").asText(null);
-                String receiptUrl   = root.path("receipt").path("url").asText(null);
-
-                String computedMethod;
-                if (easyProvider != null && !easyProvider.isBlank()) {
-                    computedMethod = "TOSS:" + easyProvider;
-                } else if (method != null && !method.isBlank()) {
-                    computedMethod = "TOSS:" + method;
-                } else {
-                    computedMethod = "TOSS";
-                }
+        Long paymentId = pay.getId();
+        return gateway.confirm(paymentKey, orderId, amount)
+                .thenCompose(resp -> alreadyProcessed(resp)
+                        ? lookupConfirmed(paymentKey, orderId, amount, resp, null)
+                        : CompletableFuture.completedFuture(resp))
+                .exceptionallyCompose(ex -> outcomeUnknown(ex)
+                        ? lookupConfirmed(paymentKey, orderId, amount, null, ex)
+                        : CompletableFuture.failedFuture(ex))
+                .<ResponseEntity<?>>thenApply(resp -> paymentService.applyConfirm(paymentId, paymentKey, resp))
+                .exceptionally(ex -> gatewayFailure("confirm", orderId, ex));
+    }
 
-                pay.setPaymentMethod(computedMethod);
-                if (receiptUrl != null && !receiptUrl.isBlank()) {
-                    pay.setReceiptUrl(receiptUrl);
-                }
-            } catch (Exception ignore) {}
+    /**
+     * 승인 결과 확인용 결제 조회
+     * 조회가 같은 주문/금액의 결제를 돌려주면 그 응답으로 승인 반영 (DONE 여부 판단은 applyConfirm),
+     * 아니면 원래 응답/실패를 그대로 (조회까지 실패하면 원래 실패 — 클라이언트 재시도 시 다시 확인)
+     */
+    private CompletableFuture<GatewayResponse> lookupConfirmed(String paymentKey, String orderId, int amount,
+                                                               GatewayResponse original, Throwable failure) {
+        log.info("[PAYMENT] confirm orderId={} outcome unknown → lookup", orderId);
+        return gateway.view(paymentKey)
+                .handle((view, ex) -> {
+                    if (ex == null && sameOrder(view, orderId, amount)) return CompletableFuture.completedFuture(view);
+                    return failure != null
+                            ? CompletableFuture.<GatewayResponse>failedFuture(failure)
+                            : CompletableFuture.completedFuture(original);
+                })
+                .thenCompose(f -> f);
+    }
 
-            pay.setStatus(Payment.Status.COMPLETED);
-            repository.save(pay);
+    private boolean sameOrder(GatewayResponse view, String orderId, int amount) {
+        if (!view.is2xx() || view.body() == null) return false;
+        try {
+            JsonNode root = objectMapper.readTree(view.body());
+            return orderId.equals(root.path("orderId").asText(null))
+                    && root.path("totalAmount").asLong(-1) == amount;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 
-            rv.setStatus(Reservation.Status.COMPLETED);
-            rv.setTransactionId(paymentKey);
-            reservationRepository.save(rv);
+    // 토스가 이미 처리한 결제 (이전 승인 요청이 응답 전에 끊긴 경우 등)
+    private static boolean alreadyProcessed(GatewayResponse resp) {
+        return !resp.is2xx() && resp.body() != null && resp.body().contains("ALREADY_PROCESSED_PAYMENT");
+    }
 
-            return ResponseEntity.ok(Map.of(
-                    "paymentId", pay.getId(),
-                    "reservationId", rv.getId(),
-                    "status", "COMPLETED"
-            ));
-        }
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("code", "TOSS_CONFIRM_FAILED"));
+    // 요청은 나갔을 수 있는데 응답을 못 받은 경우 (차단기/동시 한도는 호출 자체를 안 했으므로 제외)
+    private static boolean outcomeUnknown(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof PaymentGatewayException pe
+                && (pe.getReason() == PaymentGatewayException.Reason.TIMEOUT
+                    || pe.getReason() == PaymentGatewayException.Reason.IO);
     }
 
+    /**
+     * 결제 목록 (id 내림차순 keyset 페이지, 필요한 컬럼만)
+     * 다음 페이지: ?cursor=<이전 응답 nextCursor>
+     */
     @GetMapping("/lists")
-    public ResponseEntity<List<Payment>> getLists() {
-        return ResponseEntity.ok(repository.findAll());
+    public ResponseEntity<PaymentListSlice> getLists(
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "status", required = false) Payment.Status status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        int limit = Math.max(1, Math.min(size, 100));
+        // limit+1 개를 읽어 다음 페이지 존재 여부 판단 (count 쿼리 없음)
+        List<PaymentListRow> rows = listRepository.page(filter(status, from, to), cursor, limit + 1, listFetchSize);
+        boolean hasNext = rows.size() > limit;
+        List<PaymentListRow> content = hasNext ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasNext ? content.get(content.size() - 1).id() : null;
+        return ResponseEntity.ok(new PaymentListSlice(content, content.size(), hasNext, nextCursor));
+    }
+
+    /**
+     * 결제 전체 목록 NDJSON (한 줄 = 결제 하나)
+     * DB 커서에서 읽는 대로 응답 스트림에 바로 씀 → 서버 메모리는 fetch-size 만큼만 사용
+     */
+    @GetMapping(value = "/lists/stream", produces = NDJSON)
+    public void streamLists(
+            @RequestParam(value = "status", required = false) Payment.Status status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        ObjectWriter writer = objectMapper.writerFor(PaymentListRow.class);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), 64 * 1024);
+        int[] written = {0};
+        try {
+            listRepository.stream(filter(status, from, to), listFetchSize, row -> {
+                try {
+                    out.write(writer.writeValueAsBytes(row));
+                    out.write('\n');
+                    // fetch 한 묶음마다 내보내 클라이언트가 바로 받기 시작하게
+                    if (++written[0] % listFetchSize == 0) out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 끊으면 조회도 중단
+            log.info("[PAYMENT] list stream aborted after {} rows: {}", written[0], e.getCause().getMessage());
+            return;
+        }
+        out.flush();
+    }
+
+    private static PaymentListJdbcRepository.Filter filter(Payment.Status status, LocalDateTime from, LocalDateTime to) {
+        return new PaymentListJdbcRepository.Filter(status != null ? status.name() : null, from, to);
     }
 
     /** 토스 결제 상세 조회 */
-    @Transactional
     @GetMapping("/view/{paymentId}")
-    public ResponseEntity<?> viewPayment(@PathVariable Long paymentId) {
+    public CompletableFuture<ResponseEntity<?>> viewPayment(@PathVariable Long paymentId) {
         Optional<Payment> optional = repository.findById(paymentId);
         if (optional.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "not found"));
+            return done(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "not found")));
         }
 
         Payment p = optional.get();
-        String url = "https://api.tosspayments.com/v1/payments/" + p.getPaymentKey();
-        String encryptedKey = "Basic " + Base64.getEncoder()
-                .encodeToString("test_gsk_docs_OaPz8L5KdmQXkzRz3y47BMw6:".getBytes());
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", encryptedKey);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        ResponseEntity<String> resp = restTemplate.exchange(
-                url, HttpMethod.GET, new HttpEntity<>(headers), String.class
-        );
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            TossPaymentResponse t = mapper.readValue(resp.getBody(), TossPaymentResponse.class);
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("orderId", t.getOrderId());
-            result.put("orderName", t.getOrderName());
-            result.put("requestedAt", t.getRequestedAt());
-            result.put("approvedAt", t.getApprovedAt());
-            result.put("amount", t.getTotalAmount());
-            result.put("status", t.getStatus());
-            result.put("receiptUrl", t.getReceipt() != null ? t.getReceipt().getUrl() : null);
-            return ResponseEntity.ok(result);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "parse error"));
-        }
+        return gateway.view(p.getPaymentKey())
+                .<ResponseEntity<?>>thenApply(resp -> {
+                    try {
+                        ObjectMapper mapper = new ObjectMapper();
+                        TossPaymentResponse t = mapper.readValue(resp.body(), TossPaymentResponse.class);
+
+                        Map<String, Object> result = new HashMap<>();
+                        result.put("orderId", t.getOrderId());
+                        result.put("orderName", t.getOrderName());
+                        result.put("requestedAt", t.getRequestedAt());
+                        result.put("approvedAt", t.getApprovedAt());
+                        result.put("amount", t.getTotalAmount());
+                        result.put("status", t.getStatus());
+                        result.put("receiptUrl", t.getReceipt() != null ? t.getReceipt().getUrl() : null);
+                        return ResponseEntity.ok(result);
+                    } catch (Exception e) {
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "parse error"));
+                    }
+                })
+                .exceptionally(ex -> gatewayFailure("view", p.getOrderId(), ex));
     }
 
-    /** 결제 취소 + 예약 동기화 (멱등 처리) */
-    @Transactional
+    /**
+     * 결제 취소 요청 (멱등 처리)
+     * 아웃박스에 적재만 하고 202 — PG 취소 + 결제/예약 상태 반영은 PaymentOutboxDispatcher 가 (재시도 포함)
+     */
     @PostMapping("/cancel/{paymentId}")
     public ResponseEntity<?> cancelPayment(
             @PathVariable Long paymentId,
@@ -268,59 +365,37 @@ public class PaymentController {
         }
 
         String cancelReason = (reason == null || reason.isBlank()) ? "고객변심" : reason;
-        String url = "https://api.tosspayments.com/v1/payments/" + p.getPaymentKey() + "/cancel";
-        String encryptedKey = "Basic " + Base64.getEncoder()
-                .encodeToString("test_gsk_docs_OaPz8L5KdmQXkzRz3y47BMw6:".getBytes());
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", encryptedKey);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        String safeReason = cancelReason.replace("\"", "\\\"");
-        String jsonBody = String.format("{\"cancelReason\":\"%s\"}", safeReason);
-
-        ResponseEntity<String> resp = restTemplate.exchange(
-                url, HttpMethod.POST, new HttpEntity<>(jsonBody, headers), String.class
-        );
-
-        if (resp.getStatusCode().is2xxSuccessful() && resp.getBody() != null) {
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(resp.getBody());
-
-                boolean statusCanceled = "CANCELED".equalsIgnoreCase(root.path("status").asText());
-                boolean done =
-                        ("DONE".equalsIgnoreCase(root.path("cancelStatus").asText())) ||
-                        (root.path("cancels").isArray()
-                                && root.path("cancels").size() > 0
-                                && "DONE".equalsIgnoreCase(root.path("cancels").get(0).path("cancelStatus").asText()));
-
-                if (statusCanceled && done) {
-                    p.setStatus(Payment.Status.CANCELLED);
-                    repository.save(p);
-
-                    if (p.getReservationId() != null) {
-                        reservationRepository.findById(p.getReservationId()).ifPresent(rv -> {
-                            rv.setStatus(Reservation.Status.CANCELLED);
-                            reservationRepository.save(rv);
-                        });
-                    }
-
-                    Map<String, Object> out = new HashMap<>();
-                    out.put("message", "cancelled");
-                    out.put("paymentId", p.getId());
-                    out.put("reason", cancelReason);
-                    return ResponseEntity.ok(out);
-                }
-            } catch (Exception ignore) {}
+        try {
+            PaymentOutbox entry = outboxService.requestCancel(paymentId, cancelReason, "USER");
+            Map<String, Object> out = new HashMap<>();
+            out.put("message", "cancel requested");
+            out.put("paymentId", p.getId());
+            out.put("outboxId", entry.getId());
+            out.put("status", entry.getStatus());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(out);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
         }
+    }
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(Map.of("message", "cancel failed", "raw", resp.getBody()));
+    /**
+     * 취소 진행 상태 (202 뒤 프론트 확인용)
+     * paymentStatus 가 CANCELLED 면 완료, cancelStatus 가 FAILED 면 PG 취소 실패 (수동 확인 필요), 요청 없으면 cancelStatus = null
+     */
+    @GetMapping("/cancel/{paymentId}/status")
+    public ResponseEntity<?> cancelStatus(@PathVariable Long paymentId) {
+        Optional<Payment> optional = repository.findById(paymentId);
+        if (optional.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "not found"));
+        }
+        Map<String, Object> out = new HashMap<>();
+        out.put("paymentId", paymentId);
+        out.put("paymentStatus", optional.get().getStatus());
+        out.put("cancelStatus", outboxService.findCancel(paymentId).map(PaymentOutbox::getStatus).orElse(null));
+        return ResponseEntity.ok(out);
     }
 
     /** 하위호환 GET (가능하면 프론트는 POST 사용) */
-    @Transactional
     @GetMapping("/cancel/{paymentId}")
     public ResponseEntity<?> cancelPaymentLegacy(
             @PathVariable Long paymentId,
@@ -328,4 +403,27 @@ public class PaymentController {
     ) {
         return cancelPayment(paymentId, reason);
     }
+
+    private static CompletableFuture<ResponseEntity<?>> done(ResponseEntity<?> resp) {
+        return CompletableFuture.completedFuture(resp);
+    }
+
+    // PG 응답을 못 받은 경우: 차단기/동시 한도 → 503 + Retry-After, 타임아웃 → 504 (조회로도 확인 못 함, 재시도 시 다시 확인), 그 외 → 502
+    private ResponseEntity<?> gatewayFailure(String op, String orderId, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (!(cause instanceof PaymentGatewayException pe)) {
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(cause);
+        }
+        log.warn("[PAYMENT] {} orderId={} gateway {}: {}", op, orderId, pe.getReason(), pe.getMessage());
+        return switch (pe.getReason()) {
+            case CIRCUIT_OPEN, BULKHEAD_FULL -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(gateway.retryAfterSeconds()))
+                    .body(Map.of("code", "PG_UNAVAILABLE", "message", pe.getMessage()));
+            case TIMEOUT -> ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(Map.of("code", "PG_TIMEOUT", "message", pe.getMessage()));
+            case IO -> ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                    .body(Map.of("code", "PG_ERROR", "message", pe.getMessage()));
+        };
+    }
 }
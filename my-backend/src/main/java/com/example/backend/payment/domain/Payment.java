@@ -1,18 +1,26 @@
 // src/main/java/com/example/backend/payment/domain/Payment.java
 package com.example.backend.payment.domain;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.*;
 import lombok.*;
 
 import com.example.backend.authlogin.domain.User;
+import com.example.backend.payment.service.PaymentRollupListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
-@Table(name = "payment") // DB가 대문자 'Payment'면 여기만 "Payment"로 바꾸세요
+@EntityListeners(PaymentRollupListener.class) // 일별 매출 집계 증감 반영
+@Table(name = "payment", // DB가 대문자 'Payment'면 여기만 "Payment"로 바꾸세요
+       indexes = {
+           @Index(name = "idx_payment_created_at", columnList = "created_at"),
+           @Index(name = "idx_payment_approved_at", columnList = "approved_at"),
+           @Index(name = "idx_payment_canceled_at", columnList = "canceled_at")
+       })
 @Getter
 @Setter
 @ToString(exclude = "user")
@@ -98,9 +106,20 @@ public class Payment {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    /** PG 승인 시각 (정산 마감 기준) */
+    @Column(name = "approved_at")
+    private LocalDateTime approvedAt;
+
     @Column(name = "canceled_at")
     private LocalDateTime canceledAt;
 
+    /** 일별 집계(payment_daily_rollup)에 마지막으로 반영된 값 — 상태/수단/금액이 바뀌면 이 값 기준으로 증감 */
+    @Transient
+    @JsonIgnore
+    private RollupKey rolledUp;
+
+    public record RollupKey(LocalDate date, String method, Status status, int amount) {}
+
     // ===== 표시용 파생 속성 =====
     @Transient
     @JsonProperty("displayMethod")
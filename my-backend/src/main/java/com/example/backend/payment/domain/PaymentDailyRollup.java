@@ -0,0 +1,43 @@
+package com.example.backend.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 결제 일별 집계 (관리자 매출 통계용)
+ * - 키: (결제 생성일, 호텔, 결제수단, 결제 상태) → 금액 합/건수
+ * - Payment 저장/상태 변경 시 PaymentRollupListener 가 증감분만 반영, 주/월 집계는 이 표에서 다시 묶음
+ * - 호텔을 알 수 없는 결제는 hotel_id = 0
+ */
+@Entity
+@Table(name = "payment_daily_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payment_rollup_key",
+               columnNames = {"rollup_date", "hotel_id", "payment_method", "status"}),
+       indexes = @Index(name = "idx_payment_rollup_hotel_date", columnList = "hotel_id, rollup_date"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PaymentDailyRollup {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "payment_method", nullable = false, length = 50)
+    private String paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Payment.Status status;
+
+    @Column(name = "amount", nullable = false)
+    private long amount;
+
+    @Column(name = "cnt", nullable = false)
+    private long cnt;
+}
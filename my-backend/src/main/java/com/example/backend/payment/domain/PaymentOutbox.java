@@ -0,0 +1,61 @@
+package com.example.backend.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 결제 외부 부수효과(PG 취소) 아웃박스
+ * - 요청 트랜잭션에서는 이 행만 쌓고 바로 응답, PaymentOutboxDispatcher 가 PG 호출 → 로컬 상태 반영
+ * - 결제당 취소 요청은 1건 (payment_id, type 유니크)
+ */
+@Entity
+@Table(name = "payment_outbox",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payment_outbox_payment_type", columnNames = {"payment_id", "type"}),
+       indexes = @Index(name = "idx_payment_outbox_due", columnList = "status, next_attempt_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PaymentOutbox {
+
+    public enum Type { CANCEL }
+
+    // PENDING: 처리 대기/재시도 대기, DONE: 완료, FAILED: 재시도 포기 (수동 확인 필요)
+    public enum Status { PENDING, DONE, FAILED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "reason", length = 200)
+    private String reason;
+
+    // USER / ADMIN
+    @Column(name = "requested_by", length = 20)
+    private String requestedBy;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // 다음 시도 가능 시각 (처리 중에는 임대 만료 시각)
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
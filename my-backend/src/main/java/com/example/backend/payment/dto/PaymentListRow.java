@@ -0,0 +1,18 @@
+package com.example.backend.payment.dto;
+
+import java.time.LocalDateTime;
+
+// 결제 목록 한 줄: 목록에 필요한 컬럼만 (user 연관/결제키 제외)
+public record PaymentListRow(
+        Long id,
+        Long reservationId,
+        Long userId,
+        String orderId,
+        String orderName,
+        String paymentMethod,
+        Integer totalPrice,
+        String status,
+        String receiptUrl,
+        LocalDateTime createdAt,
+        LocalDateTime canceledAt
+) {}
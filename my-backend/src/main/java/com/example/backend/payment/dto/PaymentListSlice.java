@@ -0,0 +1,11 @@
+package com.example.backend.payment.dto;
+
+import java.util.List;
+
+// 결제 목록 페이지: id 내림차순 keyset, nextCursor = 마지막 행 id (hasNext=false 이면 null)
+public record PaymentListSlice(
+        List<PaymentListRow> content,
+        int size,
+        boolean hasNext,
+        Long nextCursor
+) {}
@@ -0,0 +1,27 @@
+package com.example.backend.payment.gateway;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * PG(토스) 호출 추상화
+ * - 모든 호출은 비동기 + 호출별 마감시간, 실패는 PaymentGatewayException 으로 완료
+ * - DB 트랜잭션 안에서 호출하지 말 것 (응답을 받은 뒤 별도 트랜잭션에서 반영)
+ */
+public interface PaymentGateway {
+
+    CompletableFuture<GatewayResponse> confirm(String paymentKey, String orderId, int amount);
+
+    CompletableFuture<GatewayResponse> view(String paymentKey);
+
+    CompletableFuture<GatewayResponse> cancel(String paymentKey, String cancelReason);
+
+    // 호출 거절(차단기 OPEN 등) 시 클라이언트에 줄 재시도 간격
+    long retryAfterSeconds();
+
+    // PG 응답 원문 (4xx 도 정상 응답으로 전달, 해석은 호출 측)
+    record GatewayResponse(int status, String body) {
+        public boolean is2xx() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
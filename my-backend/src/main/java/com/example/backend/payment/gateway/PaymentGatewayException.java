@@ -0,0 +1,29 @@
+package com.example.backend.payment.gateway;
+
+import lombok.Getter;
+
+/**
+ * PG 호출 실패 (응답을 못 받은 경우만, 4xx/5xx 응답은 GatewayResponse 로 전달)
+ */
+@Getter
+public class PaymentGatewayException extends RuntimeException {
+
+    public enum Reason {
+        CIRCUIT_OPEN,   // 차단기 열림 → 호출 안 함
+        BULKHEAD_FULL,  // 동시 호출 한도 초과 → 호출 안 함
+        TIMEOUT,        // 마감시간 초과 (PG 측 처리 여부 불명)
+        IO              // 연결/전송 오류
+    }
+
+    private final Reason reason;
+
+    public PaymentGatewayException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    // 요청이 PG 에 도달하지 않았음이 확실한 경우
+    public boolean notSent() {
+        return reason == Reason.CIRCUIT_OPEN || reason == Reason.BULKHEAD_FULL;
+    }
+}
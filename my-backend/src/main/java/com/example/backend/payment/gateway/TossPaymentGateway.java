@@ -0,0 +1,192 @@
+package com.example.backend.payment.gateway;
+
+import com.example.backend.payment.gateway.PaymentGatewayException.Reason;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 토스페이먼츠 API 클라이언트 (공용 RestTemplate 대신 전용)
+ * - JDK HttpClient: 호스트별 keep-alive 커넥션 풀 재사용, sendAsync 로 Tomcat 스레드를 붙잡지 않음
+ * - 호출별 마감시간 (confirm / view / cancel 각각), 초과 시 TIMEOUT 으로 완료
+ * - bulkhead: 동시 호출 max-concurrent 초과분은 기다리지 않고 BULKHEAD_FULL
+ * - 차단기: 연속 실패(IO/타임아웃/5xx) 시 OPEN → 일정 시간 호출 없이 CIRCUIT_OPEN
+ * - payment.toss.stub.enabled=true 면 로컬 TossStubServer 로 호출 (테스트/벤치용)
+ */
+@Slf4j
+@Service
+public class TossPaymentGateway implements PaymentGateway {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final String baseUrl;
+    private final String authorization;
+    private final Duration confirmTimeout;
+    private final Duration viewTimeout;
+    private final Duration cancelTimeout;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker breaker;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final MeterRegistry registry;
+
+    public TossPaymentGateway(@Value("${payment.toss.base-url:https://api.tosspayments.com}") String baseUrl,
+                              @Value("${payment.toss.secret-key:test_gsk_docs_OaPz8L5KdmQXkzRz3y47BMw6}") String secretKey,
+                              @Value("${payment.toss.connect-timeout-ms:2000}") long connectTimeoutMs,
+                              @Value("${payment.toss.confirm-timeout-ms:10000}") long confirmTimeoutMs,
+                              @Value("${payment.toss.view-timeout-ms:3000}") long viewTimeoutMs,
+                              @Value("${payment.toss.cancel-timeout-ms:10000}") long cancelTimeoutMs,
+                              @Value("${payment.toss.max-concurrent:20}") int maxConcurrent,
+                              @Value("${payment.toss.breaker.failures:5}") int breakerFailures,
+                              @Value("${payment.toss.breaker.open-ms:30000}") long breakerOpenMs,
+                              ObjectProvider<TossStubServer> stub,
+                              MeterRegistry registry) {
+        TossStubServer local = stub.getIfAvailable();
+        this.baseUrl = local != null ? local.baseUrl() : baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
+        this.confirmTimeout = Duration.ofMillis(confirmTimeoutMs);
+        this.viewTimeout = Duration.ofMillis(viewTimeoutMs);
+        this.cancelTimeout = Duration.ofMillis(cancelTimeoutMs);
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.breaker = new CircuitBreaker(breakerFailures, breakerOpenMs);
+        this.registry = registry;
+
+        // 응답 처리(후속 DB 반영 포함)도 이 풀에서 → 동시 호출 한도와 같은 크기
+        this.executor = Executors.newFixedThreadPool(Math.max(2, maxConcurrent), r -> {
+            Thread t = new Thread(r, "toss-http");
+            t.setDaemon(true);
+            return t;
+        });
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+
+        Gauge.builder("payment.gateway.inflight", inFlight, AtomicInteger::get).register(registry);
+        Gauge.builder("payment.gateway.breaker.open", breaker, b -> b.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(registry);
+        log.info("[TOSS] gateway baseUrl={} maxConcurrent={}", this.baseUrl, maxConcurrent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<GatewayResponse> confirm(String paymentKey, String orderId, int amount) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("orderId", orderId);
+        body.put("amount", amount);
+        body.put("paymentKey", paymentKey);
+        return call("confirm", post("/v1/payments/confirm", body, confirmTimeout));
+    }
+
+    @Override
+    public CompletableFuture<GatewayResponse> view(String paymentKey) {
+        HttpRequest req = request("/v1/payments/" + encode(paymentKey), viewTimeout).GET().build();
+        return call("view", req);
+    }
+
+    @Override
+    public CompletableFuture<GatewayResponse> cancel(String paymentKey, String cancelReason) {
+        return call("cancel", post("/v1/payments/" + encode(paymentKey) + "/cancel",
+                Map.of("cancelReason", cancelReason), cancelTimeout));
+    }
+
+    public CircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+
+    @Override
+    public long retryAfterSeconds() {
+        return breaker.retryAfterSeconds();
+    }
+
+    private CompletableFuture<GatewayResponse> call(String op, HttpRequest req) {
+        // bulkhead 를 먼저: HALF_OPEN 시험 호출 자격을 얻고 나서 거절되면 차단기가 HALF_OPEN 에 머무름
+        if (!bulkhead.tryAcquire()) {
+            count(op, "bulkhead_full");
+            return CompletableFuture.failedFuture(
+                    new PaymentGatewayException(Reason.BULKHEAD_FULL, "결제 요청이 몰리고 있습니다. 잠시 후 다시 시도해 주세요.", null));
+        }
+        if (!breaker.tryAcquire()) {
+            bulkhead.release();
+            count(op, "circuit_open");
+            return CompletableFuture.failedFuture(
+                    new PaymentGatewayException(Reason.CIRCUIT_OPEN, "결제사 응답 지연으로 잠시 결제를 받을 수 없습니다.", null));
+        }
+
+        inFlight.incrementAndGet();
+        long started = System.nanoTime();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .handle((resp, ex) -> {
+                    bulkhead.release();
+                    inFlight.decrementAndGet();
+                    Timer.builder("payment.gateway.latency").tag("op", op).register(registry)
+                            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+                    if (ex != null) {
+                        breaker.onFailure();
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        boolean timeout = cause instanceof HttpTimeoutException;
+                        count(op, timeout ? "timeout" : "io_error");
+                        log.warn("[TOSS] {} failed ({}): {}", op, timeout ? "timeout" : "io", cause.toString());
+                        throw new PaymentGatewayException(timeout ? Reason.TIMEOUT : Reason.IO,
+                                "결제사 호출 실패: " + cause.getMessage(), cause);
+                    }
+                    // 5xx 는 PG 장애로 보고 차단기에 반영, 4xx 는 업무 오류 (정상 응답)
+                    if (resp.statusCode() >= 500) breaker.onFailure();
+                    else breaker.onSuccess();
+                    count(op, String.valueOf(resp.statusCode() / 100) + "xx");
+                    return new GatewayResponse(resp.statusCode(), resp.body());
+                });
+    }
+
+    private HttpRequest post(String path, Object body, Duration timeout) {
+        try {
+            return request(path, timeout)
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body), StandardCharsets.UTF_8))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("요청 직렬화 실패", e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json");
+    }
+
+    private void count(String op, String outcome) {
+        registry.counter("payment.gateway.calls", "op", op, "outcome", outcome).increment();
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s == null ? "" : s, StandardCharsets.UTF_8);
+    }
+}
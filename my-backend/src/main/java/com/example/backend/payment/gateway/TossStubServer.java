@@ -0,0 +1,132 @@
+package com.example.backend.payment.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 로컬 토스 대역 서버 (payment.toss.stub.enabled=true 일 때만)
+ * - 실제 클라이언트(TossPaymentGateway)가 그대로 HTTP 로 호출 → 풀/타임아웃/차단기까지 검증 가능
+ * - latency-ms 로 응답 지연, failure-rate(0~1) 확률로 500 응답
+ * - confirm / 조회 / cancel 만 흉내 (결제 상태는 메모리)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payment.toss.stub.enabled", havingValue = "true")
+public class TossStubServer {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Map<String, Object>> payments = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final long latencyMs;
+    private final double failureRate;
+
+    public TossStubServer(@Value("${payment.toss.stub.port:0}") int port,
+                          @Value("${payment.toss.stub.latency-ms:50}") long latencyMs,
+                          @Value("${payment.toss.stub.failure-rate:0}") double failureRate) throws IOException {
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "toss-stub");
+            t.setDaemon(true);
+            return t;
+        }));
+        this.server.createContext("/v1/payments", this::handle);
+        this.server.start();
+        log.info("[TOSS-STUB] listening on {}", baseUrl());
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @PreDestroy
+    public void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            if (latencyMs > 0) Thread.sleep(latencyMs);
+            if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                write(ex, 500, Map.of("code", "PROVIDER_ERROR", "message", "stub failure"));
+                return;
+            }
+
+            String path = ex.getRequestURI().getPath();
+            String method = ex.getRequestMethod();
+            if ("POST".equals(method) && path.equals("/v1/payments/confirm")) {
+                JsonNode body = mapper.readTree(ex.getRequestBody());
+                String key = body.path("paymentKey").asText();
+                Map<String, Object> p = payments.computeIfAbsent(key, k -> payment(k,
+                        body.path("orderId").asText(), body.path("amount").asInt()));
+                write(ex, 200, p);
+            } else if ("POST".equals(method) && path.endsWith("/cancel")) {
+                String key = path.substring("/v1/payments/".length(), path.length() - "/cancel".length());
+                Map<String, Object> p = payments.get(key);
+                if (p == null) {
+                    write(ex, 404, Map.of("code", "NOT_FOUND_PAYMENT", "message", "존재하지 않는 결제 정보 입니다."));
+                    return;
+                }
+                p.put("status", "CANCELED");
+                p.put("cancels", List.of(Map.of("cancelStatus", "DONE",
+                        "cancelReason", mapper.readTree(ex.getRequestBody()).path("cancelReason").asText(),
+                        "canceledAt", OffsetDateTime.now().toString())));
+                write(ex, 200, p);
+            } else if ("GET".equals(method)) {
+                Map<String, Object> p = payments.get(path.substring("/v1/payments/".length()));
+                if (p == null) write(ex, 404, Map.of("code", "NOT_FOUND_PAYMENT", "message", "존재하지 않는 결제 정보 입니다."));
+                else write(ex, 200, p);
+            } else {
+                write(ex, 404, Map.of("code", "NOT_FOUND", "message", path));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ex.close();
+        }
+    }
+
+    private Map<String, Object> payment(String key, String orderId, int amount) {
+        String now = OffsetDateTime.now().toString();
+        Map<String, Object> p = new LinkedHashMap<>();
+        p.put("paymentKey", key);
+        p.put("orderId", orderId);
+        p.put("orderName", "stub order");
+        p.put("status", "DONE");
+        p.put("method", "카드");
+        p.put("totalAmount", amount);
+        p.put("requestedAt", now);
+        p.put("approvedAt", now);
+        p.put("receipt", Map.of("url", baseUrl() + "/receipt/" + key));
+        return p;
+    }
+
+    private void write(HttpExchange ex, int status, Object body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.backend.payment.repository;
+
+import com.example.backend.payment.dto.PaymentListRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 결제 목록 JDBC 읽기 (엔티티/영속성 컨텍스트 없이 필요한 컬럼만)
+ * - 모든 조회는 전진 전용/읽기 전용 커서 + fetchSize → MariaDB 드라이버가 결과를 나눠 받음 (전체를 메모리에 올리지 않음)
+ * - 정렬은 PK(id) 내림차순: 페이지는 id < cursor 로 이어 읽기 (OFFSET 없음)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentListJdbcRepository {
+
+    private static final String COLUMNS = """
+            SELECT id, reservation_id, user_id, order_id, order_name, payment_method,
+                   total_price, status, receipt_url, created_at, canceled_at
+            FROM payment
+            """;
+
+    private static final RowMapper<PaymentListRow> ROW = PaymentListJdbcRepository::map;
+
+    private final JdbcTemplate jdbc;
+
+    /** 조회 조건 (모두 선택) */
+    public record Filter(String status, LocalDateTime from, LocalDateTime to) {}
+
+    /** id < cursor 인 행을 limit 개까지 (cursor 가 null 이면 처음부터) */
+    public List<PaymentListRow> page(Filter filter, Long cursor, int limit, int fetchSize) {
+        List<Object> args = new ArrayList<>();
+        String sql = COLUMNS + where(filter, cursor, args) + " ORDER BY id DESC LIMIT ?";
+        args.add(limit);
+        return jdbc.query(con -> prepare(con, sql, args, Math.min(fetchSize, limit)), ROW);
+    }
+
+    /** 조건에 맞는 전체 행을 한 줄씩 consumer 로 (consumer 가 예외를 던지면 중단) */
+    public void stream(Filter filter, int fetchSize, Consumer<PaymentListRow> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = COLUMNS + where(filter, null, args) + " ORDER BY id DESC";
+        jdbc.query(con -> prepare(con, sql, args, fetchSize),
+                rs -> {
+                    consumer.accept(map(rs, 0));
+                });
+    }
+
+    private static String where(Filter f, Long cursor, List<Object> args) {
+        StringBuilder sb = new StringBuilder("WHERE 1=1");
+        if (f != null && f.status() != null) { sb.append(" AND status = ?"); args.add(f.status()); }
+        if (f != null && f.from() != null)   { sb.append(" AND created_at >= ?"); args.add(Timestamp.valueOf(f.from())); }
+        if (f != null && f.to() != null)     { sb.append(" AND created_at <= ?"); args.add(Timestamp.valueOf(f.to())); }
+        if (cursor != null)                  { sb.append(" AND id < ?"); args.add(cursor); }
+        return sb.toString();
+    }
+
+    private static PreparedStatement prepare(Connection con, String sql, List<Object> args,
+                                             int fetchSize) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(fetchSize);
+        for (int i = 0; i < args.size(); i++) ps.setObject(i + 1, args.get(i));
+        return ps;
+    }
+
+    private static PaymentListRow map(ResultSet rs, int rowNum) throws SQLException {
+        return new PaymentListRow(
+                rs.getLong("id"),
+                rs.getObject("reservation_id", Long.class),
+                rs.getObject("user_id", Long.class),
+                rs.getString("order_id"),
+                rs.getString("order_name"),
+                rs.getString("payment_method"),
+                rs.getObject("total_price", Integer.class),
+                rs.getString("status"),
+                rs.getString("receipt_url"),
+                toLocal(rs.getTimestamp("created_at")),
+                toLocal(rs.getTimestamp("canceled_at")));
+    }
+
+    private static LocalDateTime toLocal(Timestamp ts) {
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.backend.payment.repository;
+
+import com.example.backend.payment.domain.PaymentOutbox;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+
+    // 최신 커밋 기준 + 행 잠금 (다른 트랜잭션이 방금 적재한 행도 보임)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM PaymentOutbox o WHERE o.paymentId = :paymentId AND o.type = :type")
+    Optional<PaymentOutbox> findForUpdate(@Param("paymentId") Long paymentId, @Param("type") PaymentOutbox.Type type);
+
+    // 취소 요청 적재, 이미 있으면 무시 → 유니크 충돌 예외로 호출 트랜잭션이 rollback-only 가 되지 않음
+    @Modifying
+    @Query(value = """
+           INSERT IGNORE INTO payment_outbox (payment_id, type, status, reason, requested_by, attempts, next_attempt_at, created_at)
+           VALUES (:paymentId, 'CANCEL', 'PENDING', :reason, :requestedBy, 0, :now, :now)
+           """, nativeQuery = true)
+    int insertCancelIfAbsent(@Param("paymentId") Long paymentId, @Param("reason") String reason,
+                             @Param("requestedBy") String requestedBy, @Param("now") Instant now);
+
+    // 처리할 차례인 행 선점: 다른 노드/스레드가 잡고 있는 행은 건너뜀 (MariaDB 10.6+ SKIP LOCKED)
+    @Query(value = """
+           SELECT * FROM payment_outbox
+           WHERE status = 'PENDING' AND next_attempt_at <= :now
+           ORDER BY id
+           LIMIT :limit
+           FOR UPDATE SKIP LOCKED
+           """, nativeQuery = true)
+    List<PaymentOutbox> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    Optional<PaymentOutbox> findByPaymentIdAndType(Long paymentId, PaymentOutbox.Type type);
+
+    long countByStatus(PaymentOutbox.Status status);
+}
@@ -11,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.example.backend.payment.domain.Payment;
+import jakarta.persistence.LockModeType;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
@@ -20,6 +21,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByReservationId(Long reservationId);
     Optional<Payment> findTopByReservationIdOrderByCreatedAtDesc(Long reservationId);
     List<Payment> findAllByReservationIdOrderByCreatedAtDesc(Long reservationId);
+
+    // 승인 반영 직렬화 (SELECT ... FOR UPDATE) — 같은 결제의 승인 재시도/조회 확인이 동시에 반영되지 않게
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id = :id")
+    Optional<Payment> findWithLockById(@Param("id") Long id);
     
     // User를 포함한 결제 조회 (환불 처리용)
     @Query("SELECT p FROM Payment p LEFT JOIN FETCH p.user WHERE p.id = :id")
@@ -78,8 +84,12 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
              @Param("userName") String userName,
              Pageable pageable);
 
-    @Query(value = "SELECT MONTH(created_at) AS m, COALESCE(SUM(total_price),0) AS revenue, COUNT(*) AS cnt " +
-      "FROM payment WHERE (:year IS NULL OR YEAR(created_at)=:year) GROUP BY m ORDER BY m", nativeQuery = true)
+    // ===== 매출 집계: payment_daily_rollup(일 x 호텔 x 결제수단 x 상태) 에서 읽음, 주/월은 일 단위 행을 다시 묶음 =====
+
+    @Query(value = "SELECT MONTH(pr.rollup_date) AS m, COALESCE(SUM(pr.amount),0) AS revenue, COALESCE(SUM(pr.cnt),0) AS cnt " +
+      "FROM payment_daily_rollup pr " +
+      "WHERE (:year IS NULL OR (pr.rollup_date >= MAKEDATE(:year, 1) AND pr.rollup_date < MAKEDATE(:year + 1, 1))) " +
+      "GROUP BY m HAVING SUM(pr.cnt) > 0 ORDER BY m", nativeQuery = true)
     java.util.List<Object[]> sumMonthlyRevenue(@Param("year") Integer year);
 
     @Query(value = "SELECT h.id AS hotel_id, h.name AS hotel_name, COALESCE(SUM(p.total_price),0) AS revenue " +
@@ -99,9 +109,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.reservationId = :reservationId")
     java.util.List<Payment> findAllByReservationId(@Param("reservationId") Long reservationId);
 
-    @Query(value = "SELECT DATE(p.created_at) as d, COALESCE(SUM(p.total_price),0) as revenue " +
-      "FROM payment p WHERE p.status='COMPLETED' AND p.created_at BETWEEN :from AND :to " +
-      "GROUP BY d ORDER BY d", nativeQuery = true)
+    @Query(value = "SELECT pr.rollup_date as d, COALESCE(SUM(pr.amount),0) as revenue " +
+      "FROM payment_daily_rollup pr WHERE pr.status='COMPLETED' AND pr.rollup_date BETWEEN DATE(:from) AND DATE(:to) " +
+      "GROUP BY d HAVING SUM(pr.cnt) > 0 ORDER BY d", nativeQuery = true)
     java.util.List<Object[]> dailyRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
     @Query(value = "SELECT h.id, h.name, " +
@@ -142,44 +152,71 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
       "GROUP BY h.id, h.name ORDER BY revenue DESC", nativeQuery = true)
     java.util.List<Object[]> hotelRevenueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
-    @Query(value = "SELECT DATE(p.created_at) AS period, COALESCE(SUM(p.total_price),0) AS amount, COUNT(*) AS cnt FROM payment p " +
-      "LEFT JOIN reservation r ON p.reservation_id = r.id " +
-      "LEFT JOIN room rm ON r.room_id = rm.id " +
-      "WHERE p.status = 'COMPLETED' " +
-      "AND p.created_at BETWEEN :from AND :to " +
-      "AND (:hotelId IS NULL OR rm.hotel_id = :hotelId) " +
-      "AND (:method IS NULL OR p.payment_method = :method) " +
-      "GROUP BY period ORDER BY period", nativeQuery = true)
+    // ===== 정산 마감 (AdminSettlementService) =====
+
+    @Query("SELECT MIN(p.approvedAt) FROM Payment p")
+    LocalDateTime findFirstApprovedAt();
+
+    // approved_at 도입 전 결제: 생성 시각을 승인 시각으로 간주 (완료/취소된 결제만)
+    @Modifying
+    @Query(value = "UPDATE payment SET approved_at = created_at " +
+      "WHERE approved_at IS NULL AND status IN ('COMPLETED','CANCELLED')", nativeQuery = true)
+    int backfillApprovedAt();
+
+    // [start, end) 에 승인됐고 end 시점에 아직 취소 전이던 결제 (이후 취소된 건 포함) → 호텔별 매출/예약 수
+    @Query(value = "SELECT rm.hotel_id, COALESCE(SUM(p.total_price),0) AS revenue, COUNT(DISTINCT p.reservation_id) AS reservation_count " +
+      "FROM payment p " +
+      "JOIN reservation r ON p.reservation_id = r.id " +
+      "JOIN room rm ON r.room_id = rm.id " +
+      "WHERE p.approved_at >= :start AND p.approved_at < :end " +
+      "AND (p.status = 'COMPLETED' OR (p.status = 'CANCELLED' AND p.canceled_at >= :end)) " +
+      "GROUP BY rm.hotel_id", nativeQuery = true)
+    java.util.List<Object[]> settledRevenueBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // [start, end) 에 취소됐는데 그 전날까지 승인된 결제 (이미 마감된 매출) → 호텔별 환불액/예약 수
+    @Query(value = "SELECT rm.hotel_id, COALESCE(SUM(p.total_price),0) AS refunded, COUNT(DISTINCT p.reservation_id) AS reservation_count " +
+      "FROM payment p " +
+      "JOIN reservation r ON p.reservation_id = r.id " +
+      "JOIN room rm ON r.room_id = rm.id " +
+      "WHERE p.status = 'CANCELLED' " +
+      "AND p.canceled_at >= :start AND p.canceled_at < :end " +
+      "AND p.approved_at < :start " +
+      "GROUP BY rm.hotel_id", nativeQuery = true)
+    java.util.List<Object[]> lateRefundsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(value = "SELECT pr.rollup_date AS period, COALESCE(SUM(pr.amount),0) AS amount, COALESCE(SUM(pr.cnt),0) AS cnt " +
+      "FROM payment_daily_rollup pr " +
+      "WHERE pr.status = 'COMPLETED' " +
+      "AND pr.rollup_date BETWEEN DATE(:from) AND DATE(:to) " +
+      "AND (:hotelId IS NULL OR pr.hotel_id = :hotelId) " +
+      "AND (:method IS NULL OR pr.payment_method = :method) " +
+      "GROUP BY period HAVING SUM(pr.cnt) > 0 ORDER BY period", nativeQuery = true)
     java.util.List<Object[]> aggregateDaily(@Param("from") LocalDateTime from,
               @Param("to") LocalDateTime to,
               @Param("hotelId") Long hotelId,
               @Param("method") String method);
 
-    @Query(value = "SELECT CONCAT(YEAR(p.created_at), '-', LPAD(WEEK(p.created_at, 1), 2, '0')) AS period, " +
-      "COALESCE(SUM(p.total_price),0) AS amount, COUNT(*) AS cnt " +
-      "FROM payment p " +
-      "LEFT JOIN reservation r ON p.reservation_id = r.id " +
-      "LEFT JOIN room rm ON r.room_id = rm.id " +
-      "WHERE p.status = 'COMPLETED' " +
-      "AND p.created_at BETWEEN :from AND :to " +
-      "AND (:hotelId IS NULL OR rm.hotel_id = :hotelId) " +
-      "AND (:method IS NULL OR p.payment_method = :method) " +
-      "GROUP BY period ORDER BY period", nativeQuery = true)
+    @Query(value = "SELECT CONCAT(YEAR(pr.rollup_date), '-', LPAD(WEEK(pr.rollup_date, 1), 2, '0')) AS period, " +
+      "COALESCE(SUM(pr.amount),0) AS amount, COALESCE(SUM(pr.cnt),0) AS cnt " +
+      "FROM payment_daily_rollup pr " +
+      "WHERE pr.status = 'COMPLETED' " +
+      "AND pr.rollup_date BETWEEN DATE(:from) AND DATE(:to) " +
+      "AND (:hotelId IS NULL OR pr.hotel_id = :hotelId) " +
+      "AND (:method IS NULL OR pr.payment_method = :method) " +
+      "GROUP BY period HAVING SUM(pr.cnt) > 0 ORDER BY period", nativeQuery = true)
     java.util.List<Object[]> aggregateWeekly(@Param("from") LocalDateTime from,
                @Param("to") LocalDateTime to,
                @Param("hotelId") Long hotelId,
                @Param("method") String method);
 
-    @Query(value = "SELECT DATE_FORMAT(p.created_at, '%Y-%m') AS period, " +
-      "COALESCE(SUM(p.total_price),0) AS amount, COUNT(*) AS cnt " +
-      "FROM payment p " +
-      "LEFT JOIN reservation r ON p.reservation_id = r.id " +
-      "LEFT JOIN room rm ON r.room_id = rm.id " +
-      "WHERE p.status = 'COMPLETED' " +
-      "AND p.created_at BETWEEN :from AND :to " +
-      "AND (:hotelId IS NULL OR rm.hotel_id = :hotelId) " +
-      "AND (:method IS NULL OR p.payment_method = :method) " +
-      "GROUP BY period ORDER BY period", nativeQuery = true)
+    @Query(value = "SELECT DATE_FORMAT(pr.rollup_date, '%Y-%m') AS period, " +
+      "COALESCE(SUM(pr.amount),0) AS amount, COALESCE(SUM(pr.cnt),0) AS cnt " +
+      "FROM payment_daily_rollup pr " +
+      "WHERE pr.status = 'COMPLETED' " +
+      "AND pr.rollup_date BETWEEN DATE(:from) AND DATE(:to) " +
+      "AND (:hotelId IS NULL OR pr.hotel_id = :hotelId) " +
+      "AND (:method IS NULL OR pr.payment_method = :method) " +
+      "GROUP BY period HAVING SUM(pr.cnt) > 0 ORDER BY period", nativeQuery = true)
     java.util.List<Object[]> aggregateMonthly(@Param("from") LocalDateTime from,
                 @Param("to") LocalDateTime to,
                 @Param("hotelId") Long hotelId,
@@ -187,16 +224,16 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     @Query(value = """
   SELECT h.name,
-         COALESCE(SUM(p.total_price),0) AS amount,
-         COUNT(*) AS cnt
-  FROM hotel h
-  JOIN room rm ON rm.hotel_id = h.id
-  JOIN reservation r ON r.room_id = rm.id
-  JOIN payment p ON p.reservation_id = r.id AND p.status = 'COMPLETED'
-  WHERE p.created_at BETWEEN :from AND :to
-    AND (:hotelId IS NULL OR h.id = :hotelId)
-    AND (:method IS NULL OR p.payment_method = :method)
+         COALESCE(SUM(pr.amount),0) AS amount,
+         COALESCE(SUM(pr.cnt),0) AS cnt
+  FROM payment_daily_rollup pr
+  JOIN hotel h ON h.id = pr.hotel_id
+  WHERE pr.status = 'COMPLETED'
+    AND pr.rollup_date BETWEEN DATE(:from) AND DATE(:to)
+    AND (:hotelId IS NULL OR pr.hotel_id = :hotelId)
+    AND (:method IS NULL OR pr.payment_method = :method)
   GROUP BY h.name
+  HAVING SUM(pr.cnt) > 0
   ORDER BY amount DESC
   """, nativeQuery = true)
     java.util.List<Object[]> aggregateByHotel(@Param("from") LocalDateTime from,
@@ -205,17 +242,16 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
                 @Param("method") String method);
 
     @Query(value = """
-  SELECT p.payment_method,
-         COALESCE(SUM(p.total_price),0) AS amount,
-         COUNT(*) AS cnt
-  FROM payment p
-  LEFT JOIN reservation r ON p.reservation_id = r.id
-  LEFT JOIN room rm ON r.room_id = rm.id
-  WHERE p.status = 'COMPLETED'
-    AND p.created_at BETWEEN :from AND :to
-    AND (:hotelId IS NULL OR rm.hotel_id = :hotelId)
-    AND (:method IS NULL OR p.payment_method = :method)
-  GROUP BY p.payment_method
+  SELECT pr.payment_method,
+         COALESCE(SUM(pr.amount),0) AS amount,
+         COALESCE(SUM(pr.cnt),0) AS cnt
+  FROM payment_daily_rollup pr
+  WHERE pr.status = 'COMPLETED'
+    AND pr.rollup_date BETWEEN DATE(:from) AND DATE(:to)
+    AND (:hotelId IS NULL OR pr.hotel_id = :hotelId)
+    AND (:method IS NULL OR pr.payment_method = :method)
+  GROUP BY pr.payment_method
+  HAVING SUM(pr.cnt) > 0
   ORDER BY amount DESC
   """, nativeQuery = true)
     java.util.List<Object[]> aggregateByMethod(@Param("from") LocalDateTime from,
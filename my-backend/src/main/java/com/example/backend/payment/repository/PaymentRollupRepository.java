@@ -0,0 +1,63 @@
+package com.example.backend.payment.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * payment_daily_rollup JDBC 쓰기
+ * - 엔티티 리스너(flush 도중)에서 호출되므로 JPA 가 아닌 JdbcTemplate 로 (같은 트랜잭션/커넥션에 참여)
+ * - 증감은 INSERT ... ON DUPLICATE KEY UPDATE 한 문장 → 같은 키 동시 갱신도 행 잠금으로 직렬화
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentRollupRepository {
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * (일자, 예약의 호텔, 결제수단, 상태) 키에 금액/건수 증감
+     * 호텔은 예약 → 객실에서 찾고, 없으면 0
+     */
+    public void add(LocalDate date, Long reservationId, String method, String status, long amount, long cnt) {
+        jdbc.update("""
+                INSERT INTO payment_daily_rollup (rollup_date, hotel_id, payment_method, status, amount, cnt)
+                VALUES (?, COALESCE((SELECT rm.hotel_id FROM reservation r JOIN room rm ON rm.id = r.room_id WHERE r.id = ?), 0), ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE amount = amount + VALUES(amount), cnt = cnt + VALUES(cnt)
+                """,
+                Date.valueOf(date), reservationId, method, status, amount, cnt);
+    }
+
+    /**
+     * [from, to] 기간 집계를 payment 원본에서 다시 계산 (초기 적재/대사용)
+     * @return 다시 쓴 집계 행 수
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        jdbc.update("DELETE FROM payment_daily_rollup WHERE rollup_date BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+        return jdbc.update("""
+                INSERT INTO payment_daily_rollup (rollup_date, hotel_id, payment_method, status, amount, cnt)
+                SELECT DATE(p.created_at), COALESCE(rm.hotel_id, 0), p.payment_method, p.status,
+                       COALESCE(SUM(p.total_price), 0), COUNT(*)
+                FROM payment p
+                LEFT JOIN reservation r ON p.reservation_id = r.id
+                LEFT JOIN room rm ON r.room_id = rm.id
+                WHERE p.created_at >= ? AND p.created_at < ?
+                GROUP BY DATE(p.created_at), COALESCE(rm.hotel_id, 0), p.payment_method, p.status
+                """,
+                Date.valueOf(from), Date.valueOf(to.plusDays(1)));
+    }
+
+    public boolean isEmpty() {
+        Integer one = jdbc.query("SELECT 1 FROM payment_daily_rollup LIMIT 1", rs -> rs.next() ? 1 : null);
+        return one == null;
+    }
+
+    public LocalDate firstPaymentDate() {
+        Date d = jdbc.queryForObject("SELECT DATE(MIN(created_at)) FROM payment", Date.class);
+        return d != null ? d.toLocalDate() : null;
+    }
+}
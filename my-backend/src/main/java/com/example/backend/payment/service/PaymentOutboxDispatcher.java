@@ -0,0 +1,241 @@
+package com.example.backend.payment.service;
+
+import com.example.backend.payment.domain.Payment;
+import com.example.backend.payment.domain.PaymentOutbox;
+import com.example.backend.payment.gateway.PaymentGateway;
+import com.example.backend.payment.gateway.PaymentGateway.GatewayResponse;
+import com.example.backend.payment.gateway.PaymentGatewayException;
+import com.example.backend.payment.repository.PaymentOutboxRepository;
+import com.example.backend.payment.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 결제 아웃박스 처리기
+ * - 짧은 트랜잭션으로 처리할 행 선점 (FOR UPDATE SKIP LOCKED) + 임대 시각 기록 → 커밋 → 트랜잭션 밖에서 PG 취소 호출
+ *   → 응답마다 별도 트랜잭션으로 결제/예약 상태 반영 (PG 취소가 확인된 뒤에만 로컬 상태가 바뀜)
+ * - 처리 중 노드가 죽으면 임대(lease-seconds)가 지난 뒤 다른 노드가 다시 집음 → PG 취소는 ALREADY_CANCELED_PAYMENT 로 멱등
+ * - 일시 장애(5xx/429/타임아웃/차단기/동시 한도)는 지수 백오프 재시도, max-attempts 초과 또는 4xx 거절은 FAILED (수동 확인)
+ */
+@Slf4j
+@Component
+public class PaymentOutboxDispatcher {
+    // 한 번의 실행에서 최대 배치 수 (무한 루프 방지)
+    private static final int MAX_ROUNDS = 50;
+    private static final Duration BACKOFF_BASE = Duration.ofSeconds(2);
+    private static final Duration BACKOFF_MAX = Duration.ofMinutes(10);
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway gateway;
+    private final TransactionTemplate tx;
+    private final MeterRegistry registry;
+    private final int batch;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final ExecutorService executor;
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    // PaymentService → PaymentOutboxService → 이 클래스 순환 방지
+    @Autowired
+    @Lazy
+    private PaymentService paymentService;
+
+    public PaymentOutboxDispatcher(PaymentOutboxRepository outboxRepository,
+                                   PaymentRepository paymentRepository,
+                                   PaymentGateway gateway,
+                                   PlatformTransactionManager txManager,
+                                   MeterRegistry registry,
+                                   @Value("${payment.outbox.batch:10}") int batch,
+                                   @Value("${payment.outbox.max-attempts:8}") int maxAttempts,
+                                   @Value("${payment.outbox.lease-seconds:60}") long leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.paymentRepository = paymentRepository;
+        this.gateway = gateway;
+        this.tx = new TransactionTemplate(txManager);
+        this.registry = registry;
+        this.batch = Math.max(batch, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "payment-outbox");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** 처리 한 번 예약 (이미 예약돼 있으면 무시) — 적재 커밋 직후와 주기 폴링에서 호출 */
+    public void kick() {
+        if (!queued.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                queued.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            queued.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-ms:1000}")
+    public void poll() {
+        kick();
+    }
+
+    private void drain() {
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            List<Claim> claimed = tx.execute(s -> claim());
+            if (claimed == null || claimed.isEmpty()) return;
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(claimed.size());
+            for (Claim c : claimed) futures.add(dispatch(c));
+            try {
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                log.warn("[OUTBOX] batch failed: {}", e.getCause() != null ? e.getCause().toString() : e.toString());
+            }
+            if (claimed.size() < batch) return;
+        }
+    }
+
+    // 트랜잭션 하나 = 선점한 배치 하나, 임대 시각까지 미뤄 두고 커밋 (PG 호출 중에는 행 잠금 없음)
+    private List<Claim> claim() {
+        Instant now = Instant.now();
+        List<PaymentOutbox> rows = outboxRepository.claimDue(now, batch);
+        List<Claim> claims = new ArrayList<>(rows.size());
+        for (PaymentOutbox o : rows) {
+            o.setAttempts(o.getAttempts() + 1);
+            o.setNextAttemptAt(now.plus(lease));
+            String paymentKey = paymentRepository.findById(o.getPaymentId()).map(Payment::getPaymentKey).orElse(null);
+            claims.add(new Claim(o.getId(), o.getPaymentId(), paymentKey,
+                    o.getReason() == null || o.getReason().isBlank() ? "고객변심" : o.getReason(), o.getAttempts()));
+        }
+        return claims;
+    }
+
+    private CompletableFuture<Void> dispatch(Claim c) {
+        // PG 결제키가 없는 결제 (승인 전 데이터 등): PG 호출 없이 로컬만 취소
+        if (c.paymentKey() == null || c.paymentKey().isBlank()) {
+            settleLocal(c);
+            return CompletableFuture.completedFuture(null);
+        }
+        return gateway.cancel(c.paymentKey(), c.reason())
+                .handle((resp, ex) -> {
+                    try {
+                        if (ex != null) retryOrFail(c, ex);
+                        else settle(c, resp);
+                    } catch (RuntimeException e) {
+                        // 반영 실패: 행은 임대 만료 후 다시 처리됨
+                        log.warn("[OUTBOX] id={} paymentId={} apply failed: {}", c.id(), c.paymentId(), e.toString());
+                        count("error");
+                    }
+                    return null;
+                });
+    }
+
+    private void settleLocal(Claim c) {
+        try {
+            tx.executeWithoutResult(s -> {
+                paymentService.applyLocalCancel(c.paymentId());
+                markDone(c);
+            });
+        } catch (RuntimeException e) {
+            log.warn("[OUTBOX] id={} paymentId={} local cancel failed: {}", c.id(), c.paymentId(), e.toString());
+            count("error");
+        }
+    }
+
+    private void settle(Claim c, GatewayResponse resp) {
+        tx.executeWithoutResult(s -> {
+            PaymentService.CancelResult result = paymentService.completeCancel(c.paymentId(), resp);
+            switch (result) {
+                case DONE -> markDone(c);
+                case REJECTED -> markFailed(c, "PG " + resp.status() + " " + resp.body());
+                case RETRY -> reschedule(c, "PG " + resp.status(), Duration.ZERO);
+            }
+        });
+    }
+
+    private void retryOrFail(Claim c, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        // 차단기 OPEN 이면 최소 그 시간만큼은 기다림
+        Duration floor = cause instanceof PaymentGatewayException pe
+                && pe.getReason() == PaymentGatewayException.Reason.CIRCUIT_OPEN
+                ? Duration.ofSeconds(gateway.retryAfterSeconds())
+                : Duration.ZERO;
+        tx.executeWithoutResult(s -> reschedule(c, cause.toString(), floor));
+    }
+
+    private void markDone(Claim c) {
+        outboxRepository.findById(c.id()).ifPresent(o -> {
+            o.setStatus(PaymentOutbox.Status.DONE);
+            o.setCompletedAt(Instant.now());
+            o.setLastError(null);
+        });
+        count("done");
+        log.info("[OUTBOX] id={} paymentId={} cancel done (attempts={})", c.id(), c.paymentId(), c.attempts());
+    }
+
+    private void markFailed(Claim c, String error) {
+        outboxRepository.findById(c.id()).ifPresent(o -> {
+            o.setStatus(PaymentOutbox.Status.FAILED);
+            o.setLastError(truncate(error));
+        });
+        count("failed");
+        log.warn("[OUTBOX] id={} paymentId={} cancel FAILED (attempts={}): {}", c.id(), c.paymentId(), c.attempts(), error);
+    }
+
+    private void reschedule(Claim c, String error, Duration floor) {
+        if (c.attempts() >= maxAttempts) {
+            markFailed(c, "max attempts: " + error);
+            return;
+        }
+        Duration wait = backoff(c.attempts());
+        if (wait.compareTo(floor) < 0) wait = floor;
+        Instant next = Instant.now().plus(wait);
+        outboxRepository.findById(c.id()).ifPresent(o -> {
+            o.setNextAttemptAt(next);
+            o.setLastError(truncate(error));
+        });
+        count("retry");
+        log.info("[OUTBOX] id={} paymentId={} retry #{} in {}s: {}", c.id(), c.paymentId(), c.attempts(), wait.toSeconds(), error);
+    }
+
+    // 2s, 4s, 8s ... 최대 10분, ±20% 흔들기 (동시에 실패한 건들이 한꺼번에 다시 몰리지 않게)
+    static Duration backoff(int attempts) {
+        long base = BACKOFF_BASE.toMillis() << Math.min(Math.max(attempts - 1, 0), 20);
+        long capped = Math.min(base, BACKOFF_MAX.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    private void count(String outcome) {
+        registry.counter("payment.outbox.dispatched", "outcome", outcome).increment();
+    }
+
+    private static String truncate(String s) {
+        return s == null || s.length() <= 500 ? s : s.substring(0, 500);
+    }
+
+    private record Claim(Long id, Long paymentId, String paymentKey, String reason, int attempts) {}
+}
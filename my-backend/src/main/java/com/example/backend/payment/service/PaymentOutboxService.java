@@ -0,0 +1,97 @@
+package com.example.backend.payment.service;
+
+import com.example.backend.payment.domain.Payment;
+import com.example.backend.payment.domain.PaymentOutbox;
+import com.example.backend.payment.repository.PaymentOutboxRepository;
+import com.example.backend.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * 결제 취소/환불 요청 적재 (아웃박스)
+ * - 요청 스레드는 outbox 행만 쌓고 바로 반환, PG 취소와 로컬 상태 반영은 PaymentOutboxDispatcher 가
+ * - 같은 결제의 중복 요청은 기존 행을 그대로 돌려줌 (INSERT IGNORE + 유니크 키로 동시 요청도 1건)
+ * - 승인 반영(applyConfirm) 트랜잭션 안에서도 호출되므로 중복 적재가 예외로 호출 트랜잭션을 망치지 않게 함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentOutboxService {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentOutboxRepository outboxRepository;
+    private final PaymentOutboxDispatcher dispatcher;
+
+    /**
+     * @param requestedBy USER / ADMIN / SYSTEM
+     * @throws NoSuchElementException 결제 없음
+     * @throws IllegalStateException  완료(COMPLETED) 상태가 아닌 결제
+     */
+    @Transactional
+    public PaymentOutbox requestCancel(Long paymentId, String reason, String requestedBy) {
+        Payment p = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new NoSuchElementException("결제 정보를 찾을 수 없습니다: " + paymentId));
+
+        PaymentOutbox existing = outboxRepository.findForUpdate(paymentId, PaymentOutbox.Type.CANCEL).orElse(null);
+        if (existing != null && existing.getStatus() != PaymentOutbox.Status.FAILED) return existing;
+
+        if (p.getStatus() != Payment.Status.COMPLETED) {
+            throw new IllegalStateException("완료된 결제만 취소할 수 있습니다. 현재 상태: " + p.getStatus());
+        }
+
+        Instant now = Instant.now();
+        if (existing != null) {
+            // 재시도 포기(FAILED)된 요청을 다시 요청 → 처음부터 재개
+            existing.setStatus(PaymentOutbox.Status.PENDING);
+            existing.setAttempts(0);
+            existing.setNextAttemptAt(now);
+            existing.setLastError(null);
+            if (reason != null) existing.setReason(reason);
+            existing.setRequestedBy(requestedBy);
+            afterCommitKick();
+            log.info("[OUTBOX] paymentId={} cancel re-enqueued id={} by={}", paymentId, existing.getId(), requestedBy);
+            return existing;
+        }
+
+        int inserted = outboxRepository.insertCancelIfAbsent(paymentId, reason, requestedBy, now);
+        PaymentOutbox entry = outboxRepository.findForUpdate(paymentId, PaymentOutbox.Type.CANCEL)
+                .orElseThrow(() -> new IllegalStateException("취소 요청을 적재하지 못했습니다: " + paymentId));
+        if (inserted == 0) {
+            // 동시에 같은 결제 취소가 들어온 경우: 먼저 들어간 행이 처리
+            log.info("[OUTBOX] paymentId={} cancel already enqueued id={}", paymentId, entry.getId());
+            return entry;
+        }
+
+        afterCommitKick();
+        log.info("[OUTBOX] paymentId={} cancel enqueued id={} by={}", paymentId, entry.getId(), requestedBy);
+        return entry;
+    }
+
+    /** 결제의 취소 요청 (진행 상태 조회용, 요청한 적 없으면 empty) */
+    @Transactional(readOnly = true)
+    public Optional<PaymentOutbox> findCancel(Long paymentId) {
+        return outboxRepository.findByPaymentIdAndType(paymentId, PaymentOutbox.Type.CANCEL);
+    }
+
+    // 커밋 후 바로 한 번 처리 시도 (놓쳐도 주기 폴링이 집어감)
+    private void afterCommitKick() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatcher.kick();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.kick();
+            }
+        });
+    }
+}
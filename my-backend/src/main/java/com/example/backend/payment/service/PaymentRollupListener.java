@@ -0,0 +1,74 @@
+package com.example.backend.payment.service;
+
+import com.example.backend.payment.domain.Payment;
+import com.example.backend.payment.domain.Payment.RollupKey;
+import com.example.backend.payment.repository.PaymentRollupRepository;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Payment 엔티티 리스너 → payment_daily_rollup 증감
+ * - 로드 시점 값을 Payment.rolledUp 에 기억해 두고, 저장될 때 바뀐 키만 -1 / +1
+ * - 같은 트랜잭션 안에서 JDBC 로 반영 → 결제 변경이 롤백되면 집계도 함께 롤백
+ * (EntityManagerFactory 생성 중 주입되므로 저장소는 @Lazy)
+ */
+@Slf4j
+@Component
+public class PaymentRollupListener {
+
+    @Autowired
+    @Lazy
+    private PaymentRollupRepository rollups;
+
+    @PostLoad
+    public void onLoad(Payment p) {
+        p.setRolledUp(keyOf(p));
+    }
+
+    @PostPersist
+    public void onCreate(Payment p) {
+        RollupKey now = keyOf(p);
+        apply(p, now, 1);
+        p.setRolledUp(now);
+    }
+
+    @PostUpdate
+    public void onUpdate(Payment p) {
+        RollupKey before = p.getRolledUp();
+        RollupKey now = keyOf(p);
+        if (Objects.equals(before, now)) return;
+        if (before == null) {
+            // 이전 값을 모르면 증감을 계산할 수 없음 → 일일 대사(PaymentRollupService)에서 보정
+            log.warn("[ROLLUP] paymentId={} updated without loaded state, skipped", p.getId());
+            return;
+        }
+        apply(p, before, -1);
+        apply(p, now, 1);
+        p.setRolledUp(now);
+    }
+
+    @PostRemove
+    public void onRemove(Payment p) {
+        apply(p, p.getRolledUp(), -1);
+    }
+
+    private void apply(Payment p, RollupKey key, int sign) {
+        if (key == null) return;
+        rollups.add(key.date(), p.getReservationId(), key.method(), key.status().name(),
+                (long) sign * key.amount(), sign);
+    }
+
+    private static RollupKey keyOf(Payment p) {
+        if (p.getCreatedAt() == null || p.getStatus() == null) return null;
+        return new RollupKey(p.getCreatedAt().toLocalDate(), p.getPaymentMethod(), p.getStatus(),
+                p.getTotalPrice() != null ? p.getTotalPrice() : 0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.payment.service;
+
+import com.example.backend.payment.repository.PaymentRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * payment_daily_rollup 초기 적재 + 일일 대사
+ * - 기동 시 집계가 비어 있으면 전체 기간을 payment 원본에서 적재
+ * - 매일 04:10 최근 reconcile-days 일을 다시 계산 (리스너를 거치지 않은 변경/누락 보정)
+ * - 재계산은 트랜잭션 하나: DELETE 가 해당 기간 키를 잠그므로 그 사이 리스너 증감은 커밋 뒤에 순서대로 반영됨
+ */
+@Slf4j
+@Service
+public class PaymentRollupService {
+
+    private final PaymentRollupRepository rollups;
+    private final TransactionTemplate tx;
+    private final int reconcileDays;
+
+    public PaymentRollupService(PaymentRollupRepository rollups,
+                                PlatformTransactionManager txManager,
+                                @Value("${payment.rollup.reconcile-days:7}") int reconcileDays) {
+        this.rollups = rollups;
+        this.tx = new TransactionTemplate(txManager);
+        this.reconcileDays = Math.max(reconcileDays, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!rollups.isEmpty()) return;
+        LocalDate first = rollups.firstPaymentDate();
+        if (first == null) return;
+        Integer rows = tx.execute(s -> rollups.rebuild(first, LocalDate.now()));
+        log.info("[ROLLUP] backfilled {} ~ {} rows={}", first, LocalDate.now(), rows);
+    }
+
+    @Scheduled(cron = "0 10 4 * * *")
+    public void reconcile() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(reconcileDays);
+        Integer rows = tx.execute(s -> rollups.rebuild(from, to));
+        log.info("[ROLLUP] reconciled {} ~ {} rows={}", from, to, rows);
+    }
+}
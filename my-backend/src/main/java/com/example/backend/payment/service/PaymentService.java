@@ -0,0 +1,161 @@
+package com.example.backend.payment.service;
+
+import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import com.example.backend.hotel_reservation.service.ReservationStateMachine;
+import com.example.backend.payment.domain.Payment;
+import com.example.backend.payment.gateway.PaymentGateway.GatewayResponse;
+import com.example.backend.payment.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * PG 응답을 받은 뒤의 로컬 반영 (결제/예약 상태)
+ * - PG 호출은 트랜잭션 밖(PaymentGateway), 여기서는 응답을 짧은 트랜잭션 하나로 반영만
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentService {
+
+    private final PaymentRepository repository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationStateMachine stateMachine;
+    private final PaymentOutboxService outboxService;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /** 결제 승인 응답 반영 + 예약 확정 */
+    @Transactional
+    public ResponseEntity<?> applyConfirm(Long paymentId, String paymentKey, GatewayResponse resp) {
+        Payment pay = repository.findWithLockById(paymentId)
+                .orElseThrow(() -> new NoSuchElementException("payment not found"));
+
+        // 같은 승인이 이미 반영됨 (동시 재시도/조회 확인) → 예약 전이를 다시 시도하지 않음
+        if (pay.getStatus() == Payment.Status.COMPLETED && paymentKey.equals(pay.getPaymentKey())) {
+            return ResponseEntity.ok(Map.of(
+                    "paymentId", pay.getId(),
+                    "reservationId", pay.getReservationId(),
+                    "status", "COMPLETED"
+            ));
+        }
+
+        if (resp.status() != HttpStatus.OK.value()
+                || resp.body() == null
+                || !resp.body().contains("\"status\":\"DONE\"")) {
+            log.warn("[PAYMENT] orderId={} toss confirm failed status={} body={}", pay.getOrderId(), resp.status(), resp.body());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("code", "TOSS_CONFIRM_FAILED"));
+        }
+
+        pay.setPaymentKey(paymentKey);
+        // 토스 응답 → 결제수단/영수증 저장
+        try {
+            JsonNode root = mapper.readTree(resp.body());
+
+            String method       = root.path("method").asText(null);
+            String easyProvider = root.path("easyPay").path("provider").asText(null);
+            String receiptUrl   = root.path("receipt").path("url").asText(null);
+
+            String computedMethod;
+            if (easyProvider != null && !easyProvider.isBlank()) {
+                computedMethod = "TOSS:" + easyProvider;
+            } else if (method != null && !method.isBlank()) {
+                computedMethod = "TOSS:" + method;
+            } else {
+                computedMethod = "TOSS";
+            }
+
+            pay.setPaymentMethod(computedMethod);
+            if (receiptUrl != null && !receiptUrl.isBlank()) {
+                pay.setReceiptUrl(receiptUrl);
+            }
+        } catch (Exception ignore) {}
+
+        pay.setStatus(Payment.Status.COMPLETED);
+        pay.setApprovedAt(LocalDateTime.now());
+        repository.save(pay);
+
+        // PENDING → COMPLETED 조건부 전이: 승인 사이에 만료/취소됐으면 실패 (결제는 COMPLETED 로 남겨 환불 대상)
+        Long reservationId = pay.getReservationId();
+        boolean confirmed = reservationRepository.findById(reservationId)
+                .map(rv -> stateMachine.confirm(rv, paymentKey))
+                .orElse(false);
+        if (!confirmed) {
+            // 승인은 됐는데 예약이 이미 없음 → 같은 트랜잭션에서 PG 취소를 아웃박스에 적재 (커밋되면 자동 환불)
+            log.warn("[PAYMENT] orderId={} approved but reservationId={} no longer PENDING → refund enqueued",
+                    pay.getOrderId(), reservationId);
+            outboxService.requestCancel(pay.getId(), "예약 만료 후 승인", "SYSTEM");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                    "code", "RESERVATION_CANCELLED",
+                    "paymentId", pay.getId()));
+        }
+
+        return ResponseEntity.ok(Map.of(
+                "paymentId", pay.getId(),
+                "reservationId", reservationId,
+                "status", "COMPLETED"
+        ));
+    }
+
+    public enum CancelResult {
+        DONE,      // PG 취소 완료(또는 이미 취소) → 로컬 반영까지 끝
+        RETRY,     // PG 일시 장애 (5xx/429) → 나중에 다시
+        REJECTED   // PG 가 거절한 요청 (4xx) → 재시도 무의미
+    }
+
+    /** PG 취소 응답 반영 + 예약 취소(재고 복구) — PaymentOutboxDispatcher 에서 호출 */
+    @Transactional
+    public CancelResult completeCancel(Long paymentId, GatewayResponse resp) {
+        if (resp.is2xx() && resp.body() != null) {
+            try {
+                JsonNode root = mapper.readTree(resp.body());
+
+                boolean statusCanceled = "CANCELED".equalsIgnoreCase(root.path("status").asText());
+                boolean done =
+                        ("DONE".equalsIgnoreCase(root.path("cancelStatus").asText())) ||
+                        (root.path("cancels").isArray()
+                                && root.path("cancels").size() > 0
+                                && "DONE".equalsIgnoreCase(root.path("cancels").get(0).path("cancelStatus").asText()));
+
+                if (statusCanceled && done) {
+                    applyLocalCancel(paymentId);
+                    return CancelResult.DONE;
+                }
+            } catch (Exception ignore) {}
+            return CancelResult.RETRY;   // 2xx 인데 아직 취소 완료 전 → 다시 확인
+        }
+        if (resp.status() >= 500 || resp.status() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return CancelResult.RETRY;
+        }
+        // 재시도 중 앞선 요청이 이미 반영된 경우
+        if (resp.body() != null && resp.body().contains("ALREADY_CANCELED_PAYMENT")) {
+            applyLocalCancel(paymentId);
+            return CancelResult.DONE;
+        }
+        return CancelResult.REJECTED;
+    }
+
+    /** PG 호출 없이 로컬 상태만 취소 (PG 취소 확인 후 또는 paymentKey 없는 결제) */
+    @Transactional
+    public void applyLocalCancel(Long paymentId) {
+        Payment p = repository.findById(paymentId)
+                .orElseThrow(() -> new NoSuchElementException("payment not found"));
+        if (p.getStatus() != Payment.Status.CANCELLED) {
+            p.setStatus(Payment.Status.CANCELLED);
+            p.setCanceledAt(LocalDateTime.now());
+            repository.save(p);
+        }
+        if (p.getReservationId() != null) {
+            reservationRepository.findById(p.getReservationId()).ifPresent(stateMachine::cancel);
+        }
+        log.info("[PAYMENT] paymentId={} CANCELLED (reservationId={})", p.getId(), p.getReservationId());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.hotel_reservation.bench;
+
+import com.example.backend.HotelOwner.domain.Hotel;
+import com.example.backend.HotelOwner.domain.Room;
+import com.example.backend.HotelOwner.repository.HotelRepository;
+import com.example.backend.HotelOwner.repository.RoomRepository;
+import com.example.backend.authlogin.domain.User;
+import com.example.backend.authlogin.repository.UserRepository;
+import com.example.backend.hotel_reservation.service.InventoryHorizonJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 호텔/객실/재고 달력 생성
+ * - 호텔마다 rooms-per-hotel 개 객실, 앞쪽 hot-rooms 개는 인기 객실(hot-room-count 개 보유)
+ */
+@Slf4j
+@Component
+@Profile("bench")
+@RequiredArgsConstructor
+public class BenchmarkDataGenerator {
+
+    public record Rooms(List<Long> hot, List<Long> cold) {}
+
+    private final UserRepository userRepo;
+    private final HotelRepository hotelRepo;
+    private final RoomRepository roomRepo;
+    private final InventoryHorizonJob horizonJob;
+
+    @Value("${bench.hotels:20}")
+    private int hotels;
+    @Value("${bench.rooms-per-hotel:5}")
+    private int roomsPerHotel;
+    @Value("${bench.room-count:20}")
+    private int roomCount;
+    @Value("${bench.hot-rooms:1}")
+    private int hotRooms;
+    @Value("${bench.hot-room-count:500}")
+    private int hotRoomCount;
+
+    @Transactional
+    public Rooms generate() {
+        User owner = userRepo.save(User.builder()
+                .name("bench-owner")
+                .email("bench-owner@example.com")
+                .provider(User.Provider.LOCAL)
+                .build());
+
+        List<Long> hot = new ArrayList<>();
+        List<Long> cold = new ArrayList<>();
+        for (int h = 0; h < hotels; h++) {
+            Hotel hotel = hotelRepo.save(Hotel.builder()
+                    .owner(owner)
+                    .name("bench-hotel-" + h)
+                    .address("bench")
+                    .country("KR")
+                    .approvalStatus(Hotel.ApprovalStatus.APPROVED)
+                    .build());
+            for (int r = 0; r < roomsPerHotel; r++) {
+                boolean isHot = hot.size() < hotRooms;
+                int count = isHot ? hotRoomCount : roomCount;
+                Room room = roomRepo.save(Room.builder()
+                        .hotel(hotel)
+                        .name("bench-room-" + h + "-" + r)
+                        .roomType(Room.RoomType.스탠다드룸)
+                        .capacityMin(1)
+                        .capacityMax(4)
+                        .checkInTime(LocalTime.of(15, 0))
+                        .checkOutTime(LocalTime.of(11, 0))
+                        .price(100_000)
+                        .roomCount(count)
+                        .build());
+                horizonJob.extendRoom(room.getId(), count);
+                (isHot ? hot : cold).add(room.getId());
+            }
+        }
+        log.info("[BENCH] generated hotels={} hotRooms={} coldRooms={}", hotels, hot.size(), cold.size());
+        return new Rooms(hot, cold);
+    }
+}
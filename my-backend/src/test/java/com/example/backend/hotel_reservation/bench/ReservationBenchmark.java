@@ -0,0 +1,295 @@
+package com.example.backend.hotel_reservation.bench;
+
+import com.example.backend.hotel_reservation.domain.Reservation;
+import com.example.backend.hotel_reservation.domain.RoomInventory;
+import com.example.backend.hotel_reservation.domain.RoomNight;
+import com.example.backend.hotel_reservation.dto.ReservationDtos.HoldRequest;
+import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryRepository;
+import com.example.backend.hotel_reservation.service.ReservationService;
+import com.example.backend.hotel_reservation.service.StripedInventoryEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 재고 경합 벤치마크 (bench 프로필, ReservationBenchmarkApplication 으로 실행 / application-bench.properties 참고)
+ * - H2(MariaDB 모드)에 호텔/객실/재고 달력 생성 후 N 스레드로 hold → (cancel | expire | 유지) 반복
+ * - 연산별 처리량, p50/p99 지연, 재고부족/교착/잠금 타임아웃/기타 오류 건수
+ * - 종료 후 불변식 검사: 모든 객실·날짜에서 total - available == PENDING/COMPLETED 예약 수량 합, available >= 0
+ * 잠금 방식/재고 엔진 변경 전후를 같은 설정으로 돌려 숫자로 비교한다.
+ */
+@Slf4j
+@Component
+@Profile("bench")
+@RequiredArgsConstructor
+public class ReservationBenchmark {
+
+    private enum Op { HOLD, CANCEL, EXPIRE }
+
+    private enum Outcome { OK, REJECTED, DEADLOCK, TIMEOUT, ERROR }
+
+    private final BenchmarkDataGenerator generator;
+    private final ReservationService reservationService;
+    private final ReservationRepository resRepo;
+    private final RoomInventoryRepository invRepo;
+    private final ObjectProvider<StripedInventoryEngine> memoryEngine;
+    private final ApplicationContext context;
+
+    @Value("${bench.threads:32}")
+    private int threads;
+    @Value("${bench.virtual-threads:false}")
+    private boolean virtualThreads;
+    @Value("${bench.warmup-seconds:5}")
+    private int warmupSeconds;
+    @Value("${bench.duration-seconds:30}")
+    private int durationSeconds;
+    @Value("${bench.hot-ratio:0.8}")
+    private double hotRatio;
+    @Value("${bench.hot-date-spread:3}")
+    private int hotDateSpread;
+    @Value("${bench.cold-date-spread:60}")
+    private int coldDateSpread;
+    @Value("${bench.max-nights:3}")
+    private int maxNights;
+    @Value("${bench.cancel-ratio:0.45}")
+    private double cancelRatio;
+    @Value("${bench.expire-ratio:0.45}")
+    private double expireRatio;
+    @Value("${bench.exit:true}")
+    private boolean exitWhenDone;
+    @Value("${reservation.inventory.engine:db}")
+    private String engine;
+    @Value("${reservation.hold.strategy:PESSIMISTIC}")
+    private String strategy;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        BenchmarkDataGenerator.Rooms rooms = generator.generate();
+        LocalDate base = LocalDate.now().plusDays(1);
+
+        log.info("[BENCH] engine={} strategy={} threads={} virtual={} warmup={}s duration={}s hotRatio={}",
+                engine, strategy, threads, virtualThreads, warmupSeconds, durationSeconds, hotRatio);
+
+        drive(rooms, base, warmupSeconds);
+        Stats stats = drive(rooms, base, durationSeconds);
+        report(stats);
+
+        Set<Long> roomIds = new HashSet<>(rooms.hot());
+        roomIds.addAll(rooms.cold());
+        int violations = checkInvariants(roomIds);
+
+        if (exitWhenDone) {
+            int code = violations == 0 ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    private Stats drive(BenchmarkDataGenerator.Rooms rooms, LocalDate base, int seconds) {
+        if (seconds <= 0) return new Stats();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = newExecutor();
+        try {
+            List<Future<Stats>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                long userId = i + 1;
+                futures.add(pool.submit(() -> worker(userId, rooms, base, deadline)));
+            }
+            Stats total = new Stats();
+            for (Future<Stats> f : futures) total.merge(f.get());
+            total.elapsedNanos = TimeUnit.SECONDS.toNanos(seconds);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("벤치마크 중단", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("벤치마크 워커 실패", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Stats worker(long userId, BenchmarkDataGenerator.Rooms rooms, LocalDate base, long deadline) {
+        Stats stats = new Stats();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            boolean hot = !rooms.hot().isEmpty() && (rooms.cold().isEmpty() || rnd.nextDouble() < hotRatio);
+            List<Long> pool = hot ? rooms.hot() : rooms.cold();
+            Long roomId = pool.get(rnd.nextInt(pool.size()));
+            LocalDate ci = base.plusDays(rnd.nextInt(Math.max(hot ? hotDateSpread : coldDateSpread, 1)));
+            LocalDate co = ci.plusDays(1 + rnd.nextInt(Math.max(maxNights, 1)));
+
+            HoldRequest req = new HoldRequest(userId, roomId, 1, ci.toString(), co.toString(), 2, 0, 600);
+            Long[] reservationId = new Long[1];
+            boolean held = stats.time(Op.HOLD, () -> reservationId[0] = reservationService.hold(req).getReservationId());
+            if (!held) continue;
+
+            double r = rnd.nextDouble();
+            if (r < cancelRatio) {
+                stats.time(Op.CANCEL, () -> reservationService.cancel(reservationId[0]));
+            } else if (r < cancelRatio + expireRatio) {
+                stats.time(Op.EXPIRE, () -> reservationService.expire(reservationId[0]));
+            }
+        }
+        return stats;
+    }
+
+    private ExecutorService newExecutor() {
+        if (virtualThreads) {
+            // Java 21+ 런타임에서만 (빌드는 17)
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("[BENCH] virtual threads unavailable on this JVM, using platform threads");
+            }
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    private void report(Stats s) {
+        double secs = s.elapsedNanos / 1e9;
+        for (Op op : Op.values()) {
+            long[] lat = s.latencies[op.ordinal()].sorted();
+            long[] oc = s.outcomes[op.ordinal()];
+            log.info("[BENCH] {} ops={} ({}/s) p50={}ms p99={}ms max={}ms ok={} rejected={} deadlock={} timeout={} error={}",
+                    op, lat.length, String.format("%.1f", lat.length / secs),
+                    millis(percentile(lat, 0.50)), millis(percentile(lat, 0.99)), millis(lat.length == 0 ? 0 : lat[lat.length - 1]),
+                    oc[Outcome.OK.ordinal()], oc[Outcome.REJECTED.ordinal()], oc[Outcome.DEADLOCK.ordinal()],
+                    oc[Outcome.TIMEOUT.ordinal()], oc[Outcome.ERROR.ordinal()]);
+        }
+    }
+
+    /**
+     * @return 불변식을 위반한 (객실, 날짜) 수
+     */
+    private int checkInvariants(Set<Long> roomIds) {
+        // write-behind 엔진이면 남은 journal 을 먼저 반영
+        memoryEngine.ifAvailable(StripedInventoryEngine::flush);
+
+        Map<RoomNight, Integer> held = new HashMap<>();
+        for (Reservation r : resRepo.findAll()) {
+            if (!roomIds.contains(r.getRoomId())) continue;
+            if (r.getStatus() != Reservation.Status.PENDING && r.getStatus() != Reservation.Status.COMPLETED) continue;
+            LocalDate ci = r.getStartDate().atZone(ZoneOffset.UTC).toLocalDate();
+            LocalDate co = r.getEndDate().atZone(ZoneOffset.UTC).toLocalDate();
+            for (LocalDate d = ci; d.isBefore(co); d = d.plusDays(1)) {
+                held.merge(new RoomNight(r.getRoomId(), d), r.getNumRooms(), Integer::sum);
+            }
+        }
+
+        int checked = 0, violations = 0;
+        for (RoomInventory ri : invRepo.findAll()) {
+            if (!roomIds.contains(ri.getRoomId())) continue;
+            checked++;
+            int expected = held.getOrDefault(new RoomNight(ri.getRoomId(), ri.getDate()), 0);
+            int actual = ri.getTotalQuantity() - ri.getAvailableQuantity();
+            if (ri.getAvailableQuantity() < 0 || actual != expected) {
+                if (++violations <= 10) {
+                    log.warn("[BENCH] invariant violated room={} date={} total={} available={} held={}",
+                            ri.getRoomId(), ri.getDate(), ri.getTotalQuantity(), ri.getAvailableQuantity(), expected);
+                }
+            }
+        }
+        log.info("[BENCH] invariant roomNights={} violations={}", checked, violations);
+        return violations;
+    }
+
+    private static Outcome classify(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            String m = t.getMessage() == null ? "" : t.getMessage().toLowerCase(Locale.ROOT);
+            if (m.contains("deadlock")) return Outcome.DEADLOCK;
+        }
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof PessimisticLockingFailureException
+                    || t instanceof QueryTimeoutException
+                    || t instanceof TransactionTimedOutException
+                    || t instanceof jakarta.persistence.LockTimeoutException
+                    || t instanceof jakarta.persistence.PessimisticLockException) {
+                return Outcome.TIMEOUT;
+            }
+            String m = t.getMessage() == null ? "" : t.getMessage().toLowerCase(Locale.ROOT);
+            if (m.contains("timeout") || m.contains("lock wait")) return Outcome.TIMEOUT;
+        }
+        if (e instanceof IllegalStateException) return Outcome.REJECTED;
+        return Outcome.ERROR;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.min(Math.max(idx, 0), sorted.length - 1)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    // 워커별로 모은 뒤 마지막에 합침 (측정 중 공유 자료구조 경합 없음)
+    private static final class Stats {
+        final LongList[] latencies = new LongList[Op.values().length];
+        final long[][] outcomes = new long[Op.values().length][Outcome.values().length];
+        long elapsedNanos;
+
+        Stats() {
+            for (int i = 0; i < latencies.length; i++) latencies[i] = new LongList();
+        }
+
+        boolean time(Op op, Runnable action) {
+            long start = System.nanoTime();
+            Outcome outcome;
+            try {
+                action.run();
+                outcome = Outcome.OK;
+            } catch (RuntimeException e) {
+                outcome = classify(e);
+            }
+            latencies[op.ordinal()].add(System.nanoTime() - start);
+            outcomes[op.ordinal()][outcome.ordinal()]++;
+            return outcome == Outcome.OK;
+        }
+
+        void merge(Stats other) {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i].addAll(other.latencies[i]);
+                for (int j = 0; j < outcomes[i].length; j++) outcomes[i][j] += other.outcomes[i][j];
+            }
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        void addAll(LongList other) {
+            if (size + other.size > values.length) values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        long[] sorted() {
+            long[] out = Arrays.copyOf(values, size);
+            Arrays.sort(out);
+            return out;
+        }
+    }
+}
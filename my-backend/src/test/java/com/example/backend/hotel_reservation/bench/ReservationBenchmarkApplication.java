@@ -0,0 +1,18 @@
+package com.example.backend.hotel_reservation.bench;
+
+import com.example.MyBackendApplication;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * 재고 경합 벤치마크 실행 진입점 (테스트 소스 → 운영 jar 에는 포함되지 않음)
+ * - 애플리케이션 설정 그대로 bench 프로필만 더해 띄움 → ReservationBenchmark 가 측정 후 종료
+ * 실행: ./mvnw spring-boot:test-run -Dspring-boot.test-run.main-class=com.example.backend.hotel_reservation.bench.ReservationBenchmarkApplication
+ */
+public class ReservationBenchmarkApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.from(MyBackendApplication::main)
+                .withAdditionalProfiles("bench")
+                .run(args);
+    }
+}
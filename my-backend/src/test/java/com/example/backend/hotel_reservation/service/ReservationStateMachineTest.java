@@ -0,0 +1,148 @@
+package com.example.backend.hotel_reservation.service;
+
+import com.example.backend.hotel_reservation.domain.Reservation;
+import com.example.backend.hotel_reservation.domain.Reservation.Status;
+import com.example.backend.hotel_reservation.domain.RoomInventory;
+import com.example.backend.hotel_reservation.repository.ReservationRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryBatchRepository;
+import com.example.backend.hotel_reservation.repository.RoomInventoryRepository;
+import com.example.backend.hotel_search.service.RoomAvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 예약 상태 전이 CAS(ReservationRepository.transition) 와 전이 성공 시에만 일어나는 재고 복구 확인
+ * H2(MariaDB 모드) + DbInventoryEngine, 검색 색인/대기열은 mock
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:state-machine;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReservationStateMachine.class, DbInventoryEngine.class, RoomInventoryBatchRepository.class})
+class ReservationStateMachineTest {
+
+    private static final long ROOM_ID = 10L;
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 1, 10);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2030, 1, 12);
+
+    @Autowired ReservationRepository resRepo;
+    @Autowired RoomInventoryRepository invRepo;
+    @Autowired ReservationStateMachine stateMachine;
+
+    @MockitoBean RoomAvailabilityIndex availabilityIndex;
+    @MockitoBean WaitlistService waitlist;
+
+    @BeforeEach
+    void inventory() {
+        // 2박 모두 총 5실 중 2실이 잡혀 있는 상태
+        for (LocalDate d = CHECK_IN; d.isBefore(CHECK_OUT); d = d.plusDays(1)) {
+            invRepo.save(RoomInventory.builder().roomId(ROOM_ID).date(d).totalQuantity(5).availableQuantity(3).build());
+        }
+    }
+
+    @Test
+    void transitionAppliesOnlyFromExpectedStatus() {
+        Reservation r = reservation(Status.PENDING);
+
+        assertThat(resRepo.transition(r.getId(), Status.PENDING, Status.COMPLETED)).isEqualTo(1);
+        assertThat(resRepo.transition(r.getId(), Status.PENDING, Status.CANCELLED)).isZero();
+        assertThat(resRepo.findStatusById(r.getId())).contains(Status.COMPLETED);
+    }
+
+    @Test
+    void transitionWithTransactionIdRecordsPaymentKey() {
+        Reservation r = reservation(Status.PENDING);
+
+        assertThat(resRepo.transitionWithTransactionId(r.getId(), Status.PENDING, Status.COMPLETED, "pk_1")).isEqualTo(1);
+        assertThat(resRepo.findById(r.getId()).orElseThrow().getTransactionId()).isEqualTo("pk_1");
+    }
+
+    @Test
+    void cancelReleasesInventoryOnce() {
+        Reservation r = reservation(Status.PENDING);
+
+        assertThat(stateMachine.cancel(r)).isTrue();
+        assertThat(available()).containsOnly(5);
+        verify(availabilityIndex).apply(ROOM_ID, CHECK_IN, CHECK_OUT, 2);
+        verify(waitlist).released(ROOM_ID);
+
+        // 이미 종료 상태 → 두 번째 취소는 재고를 건드리지 않음
+        assertThat(stateMachine.cancel(r)).isFalse();
+        assertThat(available()).containsOnly(5);
+    }
+
+    @Test
+    void lostTransitionLeavesInventoryUntouched() {
+        Reservation stale = reservation(Status.PENDING);
+        // 다른 경로(결제 확정)가 먼저 전이
+        resRepo.transition(stale.getId(), Status.PENDING, Status.COMPLETED);
+
+        assertThat(stateMachine.transition(stale, Status.EXPIRED)).isFalse();
+        assertThat(available()).containsOnly(3);
+        verify(availabilityIndex, never()).apply(anyLong(), any(), any(), anyInt());
+    }
+
+    @Test
+    void confirmKeepsInventoryHeld() {
+        Reservation r = reservation(Status.PENDING);
+
+        assertThat(stateMachine.confirm(r, "pk_2")).isTrue();
+        assertThat(resRepo.findStatusById(r.getId())).contains(Status.COMPLETED);
+        assertThat(available()).containsOnly(3);
+    }
+
+    @Test
+    void disallowedTransitionThrows() {
+        Reservation r = reservation(Status.CANCELLED);
+
+        assertThatThrownBy(() -> stateMachine.transition(r, Status.COMPLETED))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(resRepo.findStatusById(r.getId())).contains(Status.CANCELLED);
+    }
+
+    @Test
+    void expireClaimedReleasesEveryNight() {
+        Reservation r = reservation(Status.PENDING);
+
+        assertThat(stateMachine.expireClaimed(List.of(r))).isEqualTo(1);
+        assertThat(resRepo.findStatusById(r.getId())).contains(Status.CANCELLED);
+        assertThat(available()).containsOnly(5);
+    }
+
+    private Reservation reservation(Status status) {
+        return resRepo.saveAndFlush(Reservation.builder()
+                .userId(1L)
+                .roomId(ROOM_ID)
+                .numRooms(2)
+                .startDate(CHECK_IN.atStartOfDay(ZoneOffset.UTC).toInstant())
+                .endDate(CHECK_OUT.atStartOfDay(ZoneOffset.UTC).toInstant())
+                .status(status)
+                .build());
+    }
+
+    private List<Integer> available() {
+        return invRepo.findByRoomId(ROOM_ID).stream().map(RoomInventory::getAvailableQuantity).toList();
+    }
+}